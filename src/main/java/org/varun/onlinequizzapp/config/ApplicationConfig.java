@@ -7,19 +7,20 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.varun.onlinequizzapp.service.UserService;
 
 @Configuration
 @AllArgsConstructor
 public class ApplicationConfig {
-    private BCryptPasswordEncoder encoder;
+    private PasswordEncoder encoder;
     private UserService userDetailsService;
 
     @Bean
     public AuthenticationProvider authProvider(){
         DaoAuthenticationProvider provider=new DaoAuthenticationProvider(userDetailsService);
         provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
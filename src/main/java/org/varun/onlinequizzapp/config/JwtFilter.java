@@ -1,21 +1,22 @@
 package org.varun.onlinequizzapp.config;
 
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.varun.onlinequizzapp.service.AuthenticatedUser;
 import org.varun.onlinequizzapp.service.JwtService;
-import org.varun.onlinequizzapp.service.UserService;
+import org.varun.onlinequizzapp.service.PrincipalCache;
+import org.varun.onlinequizzapp.service.VerifiedToken;
 
 import java.io.IOException;
 
@@ -23,7 +24,7 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
-    private final ApplicationContext context;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -32,11 +33,11 @@ public class JwtFilter extends OncePerRequestFilter {
 
             if (authHeader != null && authHeader.startsWith("Bearer")) {
                 final String token = authHeader.substring(7);
-                final String subject = jwtService.extractSubject(token);
-                if (subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = context.getBean(UserService.class).loadUserByUsername(subject);
-                    if (jwtService.validateToken(userDetails, token)) {
-                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                final VerifiedToken verified = jwtService.verify(token);
+                if (verified.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    AuthenticatedUser principal = principalCache.get(verified.subject());
+                    if (principal.enabled()) {
+                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authToken);
                     }
@@ -47,6 +48,8 @@ public class JwtFilter extends OncePerRequestFilter {
             writeResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Token Expired", ex.getMessage());
         } catch (MalformedJwtException ex) {
             writeResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Malformed Token", ex.getMessage());
+        } catch (JwtException ex) {
+            writeResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid Token", ex.getMessage());
         } catch (Exception ex) {
             writeResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Authentication error", ex.getMessage());
         }
@@ -0,0 +1,50 @@
+package org.varun.onlinequizzapp.config;
+
+public final class QueryStats {
+    private static final ThreadLocal<Counters> CURRENT = new ThreadLocal<>();
+
+    private QueryStats() {
+    }
+
+    public record Snapshot(long statements, long rows, long jdbcNanos) {
+        public long jdbcMillis() {
+            return jdbcNanos / 1_000_000;
+        }
+    }
+
+    private static final class Counters {
+        private long statements;
+        private long rows;
+        private long jdbcNanos;
+    }
+
+    public static void begin() {
+        CURRENT.set(new Counters());
+    }
+
+    public static Snapshot end() {
+        Snapshot snapshot = current();
+        CURRENT.remove();
+        return snapshot;
+    }
+
+    public static Snapshot current() {
+        Counters counters = CURRENT.get();
+        return counters == null ? new Snapshot(0, 0, 0) : new Snapshot(counters.statements, counters.rows, counters.jdbcNanos);
+    }
+
+    static void recordStatement(long nanos) {
+        Counters counters = CURRENT.get();
+        if (counters != null) {
+            counters.statements++;
+            counters.jdbcNanos += nanos;
+        }
+    }
+
+    static void recordRows(long rows) {
+        Counters counters = CURRENT.get();
+        if (counters != null) {
+            counters.rows += rows;
+        }
+    }
+}
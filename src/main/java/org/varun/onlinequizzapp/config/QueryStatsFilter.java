@@ -0,0 +1,117 @@
+package org.varun.onlinequizzapp.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "query.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry,
+                            @Value("${query.stats.response-headers:false}") boolean responseHeaders) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        QueryStatsHeaders wrapper = responseHeaders ? new QueryStatsHeaders(response) : null;
+        QueryStats.begin();
+        try {
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+            if (wrapper != null && !response.isCommitted()) {
+                wrapper.writeHeaders();
+            }
+        } finally {
+            QueryStats.Snapshot stats = QueryStats.end();
+            if (!request.isAsyncStarted()) {
+                record(request, stats);
+            }
+        }
+    }
+
+    private static final class QueryStatsHeaders extends HttpServletResponseWrapper {
+        private boolean written;
+
+        private QueryStatsHeaders(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+
+        private void writeHeaders() {
+            if (written) {
+                return;
+            }
+            written = true;
+            QueryStats.Snapshot stats = QueryStats.current();
+            setHeader("X-Query-Count", String.valueOf(stats.statements()));
+            setHeader("X-Query-Rows", String.valueOf(stats.rows()));
+            setHeader("X-Query-Time-Ms", String.valueOf(stats.jdbcMillis()));
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats.Snapshot stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+        DistributionSummary.builder("http.server.requests.sql.statements").tags(tags).register(meterRegistry).record(stats.statements());
+        DistributionSummary.builder("http.server.requests.sql.rows").tags(tags).register(meterRegistry).record(stats.rows());
+        Timer.builder("http.server.requests.sql.time").tags(tags).register(meterRegistry).record(stats.jdbcNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,17 @@
+package org.varun.onlinequizzapp.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+public class QueryStatsStatistics extends StatisticsImpl {
+
+    public QueryStatsStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        QueryStats.recordRows(rows);
+    }
+}
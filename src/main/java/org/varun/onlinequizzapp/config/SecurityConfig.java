@@ -1,6 +1,9 @@
 package org.varun.onlinequizzapp.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -9,10 +12,14 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.varun.onlinequizzapp.exception.AccessDeniedExceptionHandler;
 
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -21,16 +28,22 @@ public class SecurityConfig {
     private final JwtFilter jwtFilter;
     private final AccessDeniedExceptionHandler accessDeniedExceptionHandler;
 
-    @Bean
-    public BCryptPasswordEncoder encoder(){
-        return new BCryptPasswordEncoder(12);
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder encoder(@Value("${password.hash.bcrypt-strength:12}") int strength,
+                                          @Value("${password.hash.threads:0}") int threads,
+                                          @Value("${password.hash.queue-capacity:64}") int queueCapacity,
+                                          @Value("${password.hash.wait-timeout-ms:5000}") long waitTimeoutMillis,
+                                          MeterRegistry meterRegistry) {
+        DelegatingPasswordEncoder delegate = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        delegate.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(strength));
+        return new HashingPasswordEncoder(delegate, threads, queueCapacity, waitTimeoutMillis, meterRegistry);
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
-                .authorizeHttpRequests(request->request.requestMatchers("/api/auth/**","/api/topic/topics","/api/topic/get/{}","/api/quiz/quizzes","/api/quiz/get/{}","/api/question/questions","/api/question/get/{}").permitAll().anyRequest().authenticated())
+                .authorizeHttpRequests(request->request.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll().requestMatchers("/actuator/**").hasAuthority("ADMIN").requestMatchers("/api/auth/**","/api/topic/topics","/api/topic/get/{}","/api/quiz/quizzes","/api/quiz/get/{}","/api/question/questions","/api/question/get/{}","/api/search").permitAll().anyRequest().authenticated())
                 .sessionManagement(session->session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .exceptionHandling(exception->exception.accessDeniedHandler(accessDeniedExceptionHandler))
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
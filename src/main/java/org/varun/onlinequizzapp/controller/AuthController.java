@@ -1,5 +1,6 @@
 package org.varun.onlinequizzapp.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -9,30 +10,36 @@ import org.varun.onlinequizzapp.dto.auth.SignInDto;
 import org.varun.onlinequizzapp.dto.auth.SignUpDto;
 import org.varun.onlinequizzapp.dto.auth.VerificationCodeDto;
 import org.varun.onlinequizzapp.service.AuthService;
+import org.varun.onlinequizzapp.service.AuthThrottle;
 
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
     private final AuthService authService;
+    private final AuthThrottle authThrottle;
 
     @PostMapping("/sign-up")
-    public ResponseEntity<?> sigUp(@Valid @RequestBody SignUpDto signUpDto){
+    public ResponseEntity<?> sigUp(@Valid @RequestBody SignUpDto signUpDto, HttpServletRequest request){
+        authThrottle.checkMail(request.getRemoteAddr(), signUpDto.email());
         return authService.signUp(signUpDto);
     }
 
     @PostMapping("/sign-in")
-    public ResponseEntity<?> signIn(@Valid @RequestBody SignInDto signInDto){
+    public ResponseEntity<?> signIn(@Valid @RequestBody SignInDto signInDto, HttpServletRequest request){
+        authThrottle.checkSignIn(request.getRemoteAddr(), signInDto.login());
         return authService.signIn(signInDto);
     }
 
     @PostMapping("/verify")
-    public ResponseEntity<?> verify(@Valid @RequestBody VerificationCodeDto verificationCodeDto){
+    public ResponseEntity<?> verify(@Valid @RequestBody VerificationCodeDto verificationCodeDto, HttpServletRequest request){
+        authThrottle.checkVerification(request.getRemoteAddr(), verificationCodeDto.email());
         return authService.verifyCode(verificationCodeDto);
     }
 
     @PostMapping("/resend-mail")
-    public ResponseEntity<?> resendEmail(@Valid @RequestBody ResendDto resendDto){
+    public ResponseEntity<?> resendEmail(@Valid @RequestBody ResendDto resendDto, HttpServletRequest request){
+        authThrottle.checkMail(request.getRemoteAddr(), resendDto.email());
         return authService.resendVerificationEmail(resendDto);
     }
 }
@@ -0,0 +1,32 @@
+package org.varun.onlinequizzapp.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.varun.onlinequizzapp.service.AttemptExportService;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/export")
+public class ExportController {
+    private final AttemptExportService attemptExportService;
+
+    @GetMapping("attempts")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAttempts(@RequestParam(required = false, defaultValue = "CSV") AttemptExportService.Format format,
+                                                                @RequestParam(required = false) Long quizId,
+                                                                @RequestParam(required = false) Long topicId,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                @RequestParam(required = false, defaultValue = "false") Boolean gzip) {
+        return attemptExportService.exportAttempts(format, quizId, topicId, from, to, gzip);
+    }
+}
@@ -2,27 +2,45 @@ package org.varun.onlinequizzapp.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.varun.onlinequizzapp.dto.question.AddQuestionDto;
 import org.varun.onlinequizzapp.dto.question.UpdateQuestionDto;
+
+import java.io.InputStream;
+import org.varun.onlinequizzapp.service.QuestionImportService;
 import org.varun.onlinequizzapp.service.QuestionService;
+import org.varun.onlinequizzapp.service.QuestionStatsService;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("api/question")
 public class QuestionController {
     private final QuestionService questionService;
+    private final QuestionStatsService questionStatsService;
+    private final QuestionImportService questionImportService;
 
     @GetMapping("questions")
-    public ResponseEntity<?> getAllQuestions() {
-        return questionService.getAllQuestions();
+    public ResponseEntity<?> getAllQuestions(@RequestParam(required = false) Long quizId,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false, defaultValue = "20") Integer size,
+                                             WebRequest request) {
+        return questionService.getAllQuestions(quizId, cursor, size, request);
     }
 
     @GetMapping("get/{id}")
-    public ResponseEntity<?> getQuestionWIthId(@PathVariable Long id) {
-        return questionService.getQuestionWithId(id);
+    public ResponseEntity<?> getQuestionWIthId(@PathVariable Long id, WebRequest request) {
+        return questionService.getQuestionWithId(id, request);
+    }
+
+    @GetMapping("stats/{id}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> getQuestionStats(@PathVariable Long id) {
+        return questionStatsService.getQuestionStats(id);
     }
 
     @PostMapping("add/{id}")
@@ -31,6 +49,14 @@ public class QuestionController {
         return questionService.addQuestion(id, input);
     }
 
+    @PostMapping(value = "import/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> importQuestions(@PathVariable Long id,
+                                             @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                             InputStream body) {
+        return questionImportService.importQuestions(id, contentType, body);
+    }
+
     @PatchMapping("update/{id}")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<?> updateQuestion(@PathVariable Long id, @Valid @RequestBody UpdateQuestionDto input) {
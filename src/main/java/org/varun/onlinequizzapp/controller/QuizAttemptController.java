@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.varun.onlinequizzapp.dto.quizAttempt.SubmitAnswerDto;
+import org.varun.onlinequizzapp.dto.quizAttempt.SubmitAnswersDto;
 import org.varun.onlinequizzapp.service.QuizAttemptService;
 
 @RestController
@@ -14,8 +15,10 @@ public class QuizAttemptController {
     private final QuizAttemptService quizAttemptService;
 
     @GetMapping("quiz/{quizId}")
-    public ResponseEntity<?> getAttemptFromUser(@PathVariable Long quizId) {
-        return quizAttemptService.getAttemptsFromQuizAndUserId(quizId);
+    public ResponseEntity<?> getAttemptFromUser(@PathVariable Long quizId,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false, defaultValue = "20") Integer size) {
+        return quizAttemptService.getAttemptsFromQuizAndUserId(quizId, cursor, size);
     }
 
     @PostMapping("quiz/{quizId}")
@@ -27,4 +30,14 @@ public class QuizAttemptController {
     public ResponseEntity<?> submitAnswer(@PathVariable Long attemptId, @Valid SubmitAnswerDto input) {
         return quizAttemptService.submitAnswer(attemptId, input);
     }
+
+    @PostMapping("answers/{attemptId}")
+    public ResponseEntity<?> submitAnswers(@PathVariable Long attemptId, @Valid @RequestBody SubmitAnswersDto input) {
+        return quizAttemptService.submitAnswers(attemptId, input);
+    }
+
+    @PostMapping("finish/{attemptId}")
+    public ResponseEntity<?> finishAttempt(@PathVariable Long attemptId) {
+        return quizAttemptService.finishAttempt(attemptId);
+    }
 }
@@ -5,8 +5,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.varun.onlinequizzapp.dto.quiz.AddQuizDto;
 import org.varun.onlinequizzapp.dto.quiz.UpdateQuizDto;
+import org.varun.onlinequizzapp.model.type.Difficulty;
+import org.varun.onlinequizzapp.service.LeaderboardService;
 import org.varun.onlinequizzapp.service.QuizService;
 
 @RestController
@@ -14,15 +17,25 @@ import org.varun.onlinequizzapp.service.QuizService;
 @RequiredArgsConstructor
 public class QuizController {
     private final QuizService quizService;
+    private final LeaderboardService leaderboardService;
 
     @GetMapping("quizzes")
-    public ResponseEntity<?> getAllQuizzes() {
-        return quizService.getAllQuizzes();
+    public ResponseEntity<?> getAllQuizzes(@RequestParam(required = false) Long topicId,
+                                           @RequestParam(required = false) Difficulty difficulty,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false, defaultValue = "20") Integer size,
+                                           WebRequest request) {
+        return quizService.getAllQuizzes(topicId, difficulty, cursor, size, request);
     }
 
     @GetMapping("get/{id}")
-    public ResponseEntity<?> getQuizWithId(@PathVariable Long id){
-        return quizService.getQuizWithId(id);
+    public ResponseEntity<?> getQuizWithId(@PathVariable Long id, WebRequest request){
+        return quizService.getQuizWithId(id, request);
+    }
+
+    @GetMapping("play/{id}")
+    public ResponseEntity<?> getPlayBundle(@PathVariable Long id, WebRequest request) {
+        return quizService.getPlayBundle(id, request);
     }
 
     @GetMapping("topic/{id}")
@@ -30,6 +43,11 @@ public class QuizController {
         return quizService.getQuizWithTopicId(topicId);
     }
 
+    @GetMapping("{id}/leaderboard")
+    public ResponseEntity<?> getLeaderboard(@PathVariable Long id, @RequestParam(required = false, defaultValue = "10") Integer top) {
+        return leaderboardService.getLeaderboard(id, top);
+    }
+
     @PostMapping("add")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<?> addQuiz(@Valid @RequestBody AddQuizDto input) {
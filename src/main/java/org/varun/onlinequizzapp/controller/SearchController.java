@@ -0,0 +1,24 @@
+package org.varun.onlinequizzapp.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.varun.onlinequizzapp.service.SearchIndex;
+import org.varun.onlinequizzapp.service.SearchService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/search")
+public class SearchController {
+    private final SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(required = false) SearchIndex.DocType type,
+                                    @RequestParam(required = false, defaultValue = "10") Integer limit) {
+        return searchService.search(q, type, limit);
+    }
+}
@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.varun.onlinequizzapp.dto.topic.AddTopicDto;
 import org.varun.onlinequizzapp.dto.topic.UpdateTopicDto;
 import org.varun.onlinequizzapp.service.TopicService;
@@ -16,13 +17,15 @@ public class TopicController {
     private final TopicService topicService;
 
     @GetMapping("topics")
-    public ResponseEntity<?> getTopics() {
-        return topicService.getTopics();
+    public ResponseEntity<?> getTopics(@RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false, defaultValue = "20") Integer size,
+                                       WebRequest request) {
+        return topicService.getTopics(cursor, size, request);
     }
 
     @GetMapping("get/{id}")
-    public ResponseEntity<?> getTopicWithId(@PathVariable Long id){
-        return topicService.getTopicWithId(id);
+    public ResponseEntity<?> getTopicWithId(@PathVariable Long id, WebRequest request){
+        return topicService.getTopicWithId(id, request);
     }
 
     @PostMapping("add")
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.varun.onlinequizzapp.dto.ApiResponse;
 import org.varun.onlinequizzapp.service.UserService;
@@ -18,9 +19,10 @@ public class UserController {
 
     @GetMapping("getUsers")
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<?> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false, defaultValue = "20") Integer size) {
         try {
-            return userService.getAllUsers();
+            return userService.getAllUsers(cursor, size);
         }catch (Exception e){
             return new ResponseEntity<>(new ApiResponse<>(false,"Needs admin privileges",e.getMessage()), HttpStatus.FORBIDDEN);
         }
@@ -0,0 +1,10 @@
+package org.varun.onlinequizzapp.dto;
+
+import java.util.List;
+
+public record PageResponseDto<T>(
+        List<T> content,
+        int size,
+        String nextCursor
+) {
+}
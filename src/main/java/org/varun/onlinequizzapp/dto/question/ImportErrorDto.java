@@ -0,0 +1,7 @@
+package org.varun.onlinequizzapp.dto.question;
+
+public record ImportErrorDto(
+        Long row,
+        String message
+) {
+}
@@ -0,0 +1,11 @@
+package org.varun.onlinequizzapp.dto.question;
+
+import java.util.List;
+
+public record ImportReportDto(
+        Long processed,
+        Long imported,
+        Long rejected,
+        List<ImportErrorDto> errors
+) {
+}
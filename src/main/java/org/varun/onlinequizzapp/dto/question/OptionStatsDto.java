@@ -0,0 +1,9 @@
+package org.varun.onlinequizzapp.dto.question;
+
+public record OptionStatsDto(
+        Long optionId,
+        String optionText,
+        Boolean isCorrect,
+        Long selectedCount
+) {
+}
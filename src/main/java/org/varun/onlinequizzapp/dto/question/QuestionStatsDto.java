@@ -0,0 +1,12 @@
+package org.varun.onlinequizzapp.dto.question;
+
+import java.util.List;
+
+public record QuestionStatsDto(
+        Long questionId,
+        Long answeredCount,
+        Long correctCount,
+        Double correctRate,
+        List<OptionStatsDto> options
+) {
+}
@@ -0,0 +1,13 @@
+package org.varun.onlinequizzapp.dto.quiz;
+
+import java.time.LocalDateTime;
+
+public record LeaderboardEntryDto(
+        Integer rank,
+        Long attemptId,
+        Long userId,
+        String username,
+        Integer score,
+        LocalDateTime completedAt
+) {
+}
@@ -0,0 +1,16 @@
+package org.varun.onlinequizzapp.dto.quiz;
+
+import org.varun.onlinequizzapp.model.type.Difficulty;
+
+import java.util.List;
+
+public record PlayBundleDto(
+        Long id,
+        String title,
+        String description,
+        String topicName,
+        Integer timeLimitInMinutes,
+        Difficulty difficulty,
+        List<PlayQuestionDto> questions
+) {
+}
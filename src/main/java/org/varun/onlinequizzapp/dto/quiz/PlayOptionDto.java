@@ -0,0 +1,7 @@
+package org.varun.onlinequizzapp.dto.quiz;
+
+public record PlayOptionDto(
+        Long id,
+        String optionText
+) {
+}
@@ -0,0 +1,10 @@
+package org.varun.onlinequizzapp.dto.quiz;
+
+import java.util.List;
+
+public record PlayQuestionDto(
+        Long id,
+        String title,
+        List<PlayOptionDto> options
+) {
+}
@@ -0,0 +1,15 @@
+package org.varun.onlinequizzapp.dto.quizAttempt;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record SubmitAnswersDto(
+        @NotEmpty(message = "At least one answer is required")
+        @Size(max = 500, message = "At most 500 answers can be submitted at once")
+        @Valid
+        List<SubmitAnswerDto> answers
+) {
+}
@@ -0,0 +1,9 @@
+package org.varun.onlinequizzapp.dto.search;
+
+public record SearchResultDto(
+        String type,
+        Long id,
+        String title,
+        Double score
+) {
+}
@@ -2,6 +2,8 @@ package org.varun.onlinequizzapp.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,9 +12,16 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.server.ResponseStatusException;
 import org.varun.onlinequizzapp.dto.ApiResponse;
 
+import java.util.Locale;
+import java.util.Map;
+
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
+    private static final Map<String, String> UNIQUE_CONSTRAINTS = Map.of(
+            "uq_questions_quiz_title", "Question with the title already exists in the quiz",
+            "uq_options_question_text", "Option already exists in the question"
+    );
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidationErrors(MethodArgumentNotValidException ex) {
@@ -28,7 +37,21 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ResponseStatusException.class)
     public ResponseEntity<?> handleResponseStatusException(ResponseStatusException ex) {
-        return new ResponseEntity<>(new ApiResponse<>(false,ex.getMessage()), ex.getStatusCode());
+        return new ResponseEntity<>(new ApiResponse<>(false,ex.getMessage()), ex.getHeaders(), ex.getStatusCode());
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> handleDataIntegrityViolation(DataIntegrityViolationException ex, HttpServletRequest req) {
+        if (ex.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            String constraint = violation.getConstraintName().toLowerCase(Locale.ROOT);
+            for (Map.Entry<String, String> unique : UNIQUE_CONSTRAINTS.entrySet()) {
+                if (constraint.contains(unique.getKey())) {
+                    log.warn("[{}] {} | Unique constraint violation: {}", req.getMethod(), req.getRequestURI(), unique.getKey());
+                    return new ResponseEntity<>(new ApiResponse<>(false, unique.getValue()), HttpStatus.CONFLICT);
+                }
+            }
+        }
+        return handleException(ex, req);
     }
 
     @ExceptionHandler(Exception.class)
@@ -0,0 +1,24 @@
+package org.varun.onlinequizzapp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "option_stats", indexes = {
+        @Index(name = "idx_option_stats_question", columnList = "question_id")
+})
+@Builder
+public class OptionStat {
+    @Id
+    private Long optionId;
+    @Column(nullable = false)
+    private Long questionId;
+    @Column(nullable = false)
+    private Long selectedCount;
+}
@@ -13,12 +13,16 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "questions")
+@Table(name = "questions", indexes = @Index(name = "idx_questions_quiz_id", columnList = "quiz_id, id"))
 @Builder
 public class Question {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "questions_seq")
+    @SequenceGenerator(name = "questions_seq", sequenceName = "questions_seq", allocationSize = 50)
     private Long id;
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
     @Column(nullable = false, length = 500)
     private String title;
     @ManyToOne(fetch = FetchType.LAZY)
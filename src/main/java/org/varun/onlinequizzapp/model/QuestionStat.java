@@ -0,0 +1,22 @@
+package org.varun.onlinequizzapp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "question_stats")
+@Builder
+public class QuestionStat {
+    @Id
+    private Long questionId;
+    @Column(nullable = false)
+    private Long answeredCount;
+    @Column(nullable = false)
+    private Long correctCount;
+}
@@ -15,7 +15,10 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "quizzes")
+@Table(name = "quizzes", indexes = {
+        @Index(name = "idx_quizzes_topic_id", columnList = "topic_id, id"),
+        @Index(name = "idx_quizzes_difficulty_id", columnList = "difficulty_level, id")
+})
 @Builder
 public class Quiz {
     @Id
@@ -14,7 +14,10 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "quiz_attempts")
+@Table(name = "quiz_attempts", indexes = {
+        @Index(name = "idx_quiz_attempts_user_quiz_started", columnList = "user_id, quiz_id, started_at, id"),
+        @Index(name = "idx_quiz_attempts_quiz_score", columnList = "quiz_id, score DESC")
+})
 @Builder
 public class QuizAttempt {
     @Id
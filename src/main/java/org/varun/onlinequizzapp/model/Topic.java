@@ -19,6 +19,9 @@ public class Topic {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
 
     @Column(nullable = false, unique = true)
     private String name;
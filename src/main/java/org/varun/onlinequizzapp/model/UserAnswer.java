@@ -12,11 +12,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "user_answers")
+@Table(name = "user_answers", uniqueConstraints = {
+        @UniqueConstraint(name = "uq_user_answers_attempt_question", columnNames = {"quiz_attempt_id", "question_id"})
+})
 @Builder
 public class UserAnswer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_answers_seq")
+    @SequenceGenerator(name = "user_answers_seq", sequenceName = "user_answers_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,6 +42,8 @@ public class UserAnswer {
 
     @PrePersist
     public void prePersist() {
-        this.answeredAt = LocalDateTime.now();
+        if (this.answeredAt == null) {
+            this.answeredAt = LocalDateTime.now();
+        }
     }
 }
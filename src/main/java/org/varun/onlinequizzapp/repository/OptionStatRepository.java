@@ -0,0 +1,18 @@
+package org.varun.onlinequizzapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.varun.onlinequizzapp.model.OptionStat;
+
+import java.util.List;
+
+public interface OptionStatRepository extends JpaRepository<OptionStat, Long> {
+    List<OptionStat> findByQuestionId(Long questionId);
+
+    @Modifying
+    @Query(value = "insert into option_stats (option_id, question_id, selected_count) values (:optionId, :questionId, :selected) " +
+            "on conflict (option_id) do update set selected_count = option_stats.selected_count + excluded.selected_count", nativeQuery = true)
+    void increment(@Param("optionId") Long optionId, @Param("questionId") Long questionId, @Param("selected") long selected);
+}
@@ -1,10 +1,20 @@
 package org.varun.onlinequizzapp.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.varun.onlinequizzapp.model.QuestionOption;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface QuestionOptionRepository extends JpaRepository<QuestionOption, Long> {
-    Optional<QuestionOption> findByOptionTextIgnoreCase(String optionText);
+    @Query("select o.id from QuestionOption o where o.question.id = :questionId and lower(o.optionText) = lower(:optionText)")
+    Optional<Long> findIdByQuestionIdAndOptionText(@Param("questionId") Long questionId, @Param("optionText") String optionText);
+
+    List<QuestionOption> findByQuestionIdOrderById(Long questionId);
+
+    @Query("select o.id from QuestionOption o where o.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -1,12 +1,61 @@
 package org.varun.onlinequizzapp.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.varun.onlinequizzapp.model.Question;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface QuestionRepository extends JpaRepository<Question, Long> {
-    boolean existsQuestionByTitleIgnoreCase(String title);
+    List<Question> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 
-    Optional<Question> findByTitleIgnoreCase(String title);
+    List<Question> findByQuizIdAndIdGreaterThanOrderByIdAsc(Long quizId, Long afterId, Limit limit);
+
+    @Query("select q.version from Question q where q.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Question q set q.version = q.version + 1 where q.id = :id")
+    int incrementVersion(@Param("id") Long id);
+
+    @Query("select q.id from Question q where q.quiz.id = :quizId and lower(q.title) = lower(:title)")
+    Optional<Long> findIdByQuizIdAndTitle(@Param("quizId") Long quizId, @Param("title") String title);
+
+    @Query("select q.id from Question q where q.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select lower(q.title) from Question q where q.quiz.id = :quizId and lower(q.title) in :titles")
+    List<String> findExistingTitles(@Param("quizId") Long quizId, @Param("titles") Collection<String> titles);
+
+    @Query("select q.id as questionId, q.title as questionTitle, o.id as optionId, o.optionText as optionText, o.isCorrect as isCorrect " +
+            "from Question q left join q.questionOptions o where q.quiz.id = :quizId order by q.id, o.id")
+    List<AnswerKeyRow> findAnswerKeyRows(@Param("quizId") Long quizId);
+
+    @Query("select q.id as id, q.quiz.id as quizId, q.title as title from Question q where q.id > :afterId order by q.id")
+    List<SearchRow> findSearchRows(@Param("afterId") Long afterId, Limit limit);
+
+    interface SearchRow {
+        Long getId();
+
+        Long getQuizId();
+
+        String getTitle();
+    }
+
+    interface AnswerKeyRow {
+        Long getQuestionId();
+
+        String getQuestionTitle();
+
+        Long getOptionId();
+
+        String getOptionText();
+
+        Boolean getIsCorrect();
+    }
 }
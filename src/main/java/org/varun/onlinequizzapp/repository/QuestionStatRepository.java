@@ -0,0 +1,15 @@
+package org.varun.onlinequizzapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.varun.onlinequizzapp.model.QuestionStat;
+
+public interface QuestionStatRepository extends JpaRepository<QuestionStat, Long> {
+    @Modifying
+    @Query(value = "insert into question_stats (question_id, answered_count, correct_count) values (:questionId, :answered, :correct) " +
+            "on conflict (question_id) do update set answered_count = question_stats.answered_count + excluded.answered_count, " +
+            "correct_count = question_stats.correct_count + excluded.correct_count", nativeQuery = true)
+    void increment(@Param("questionId") Long questionId, @Param("answered") long answered, @Param("correct") long correct);
+}
@@ -1,7 +1,104 @@
 package org.varun.onlinequizzapp.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.varun.onlinequizzapp.model.QuizAttempt;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long> {
+    @Modifying
+    @Query("update QuizAttempt a set a.score = a.score + :scoreDelta, a.attemptedQuestions = a.attemptedQuestions + :attemptedDelta where a.id = :id")
+    int incrementProgress(@Param("id") Long id, @Param("scoreDelta") int scoreDelta, @Param("attemptedDelta") int attemptedDelta);
+
+    @Modifying
+    @Query("update QuizAttempt a set a.score = (select count(ua) from UserAnswer ua where ua.quizAttempt.id = a.id and ua.isCorrect = true), " +
+            "a.attemptedQuestions = (select count(ua) from UserAnswer ua where ua.quizAttempt.id = a.id) where a.id = :id")
+    int recountProgress(@Param("id") Long id);
+
+    @Modifying
+    @Query("update QuizAttempt a set a.score = (select count(ua) from UserAnswer ua where ua.quizAttempt.id = a.id and ua.isCorrect = true), " +
+            "a.attemptedQuestions = (select count(ua) from UserAnswer ua where ua.quizAttempt.id = a.id) where a.quiz.id = :quizId and a.isCompleted = false")
+    int recountActiveProgress(@Param("quizId") Long quizId);
+
+    @Transactional
+    @Modifying
+    @Query("update QuizAttempt a set a.isCompleted = true, a.completedAt = :completedAt where a.id in :ids and a.isCompleted = false")
+    int completeAttempts(@Param("ids") Collection<Long> ids, @Param("completedAt") LocalDateTime completedAt);
+
+    @Query("select a.id as id, q.id as quizId, a.startedAt as startedAt, q.timeLimitMinutes as timeLimitMinutes " +
+            "from QuizAttempt a join a.quiz q where a.isCompleted = false and q.timeLimitMinutes is not null")
+    List<PendingExpiry> findPendingExpiries();
+
+    @Query("select a.id as id, q.id as quizId, a.startedAt as startedAt, q.timeLimitMinutes as timeLimitMinutes " +
+            "from QuizAttempt a join a.quiz q where q.id = :quizId and a.isCompleted = false")
+    List<PendingExpiry> findActiveAttempts(@Param("quizId") Long quizId);
+
+    @Query("select a.id as id, q.id as quizId, a.startedAt as startedAt, q.timeLimitMinutes as timeLimitMinutes " +
+            "from QuizAttempt a join a.quiz q where a.user.id = :userId and a.quiz.id = :quizId and a.isCompleted = false")
+    Optional<PendingExpiry> findActiveAttempt(@Param("userId") Long userId, @Param("quizId") Long quizId);
+
+    interface PendingExpiry {
+        Long getId();
+
+        Long getQuizId();
+
+        LocalDateTime getStartedAt();
+
+        Integer getTimeLimitMinutes();
+    }
+
+    @Query("select a.id as id, a.score as score, a.totalQuestions as totalQuestions, a.startedAt as startedAt, a.completedAt as completedAt, a.isCompleted as isCompleted " +
+            "from QuizAttempt a where a.user.id = :userId and a.quiz.id = :quizId " +
+            "order by a.startedAt desc, a.id desc")
+    List<AttemptSummary> findAttemptPage(@Param("userId") Long userId, @Param("quizId") Long quizId, Limit limit);
+
+    @Query("select a.id as id, a.score as score, a.totalQuestions as totalQuestions, a.startedAt as startedAt, a.completedAt as completedAt, a.isCompleted as isCompleted " +
+            "from QuizAttempt a where a.user.id = :userId and a.quiz.id = :quizId " +
+            "and (a.startedAt < :startedAt or (a.startedAt = :startedAt and a.id < :id)) " +
+            "order by a.startedAt desc, a.id desc")
+    List<AttemptSummary> findAttemptPageAfter(@Param("userId") Long userId, @Param("quizId") Long quizId,
+                                              @Param("startedAt") LocalDateTime startedAt, @Param("id") Long id, Limit limit);
+
+    interface AttemptSummary {
+        Long getId();
+
+        Integer getScore();
+
+        Integer getTotalQuestions();
+
+        LocalDateTime getStartedAt();
+
+        LocalDateTime getCompletedAt();
+
+        Boolean getIsCompleted();
+    }
+
+    @Query("select r.quizId as quizId, r.attemptId as attemptId, r.userId as userId, r.username as username, r.score as score, r.completedAt as completedAt " +
+            "from (select a.quiz.id as quizId, a.id as attemptId, u.id as userId, u.username as username, a.score as score, a.completedAt as completedAt, " +
+            "row_number() over (partition by a.quiz.id order by a.score desc, a.completedAt asc nulls last, a.id asc) as position " +
+            "from QuizAttempt a join a.user u) r " +
+            "where r.position <= :maxEntries")
+    List<LeaderboardRow> findLeaderboards(@Param("maxEntries") int maxEntries);
+
+    interface LeaderboardRow {
+        Long getQuizId();
+
+        Long getAttemptId();
+
+        Long getUserId();
+
+        String getUsername();
+
+        Integer getScore();
+
+        LocalDateTime getCompletedAt();
+    }
 }
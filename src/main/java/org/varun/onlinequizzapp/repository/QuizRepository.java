@@ -1,12 +1,59 @@
 package org.varun.onlinequizzapp.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.varun.onlinequizzapp.model.Quiz;
+import org.varun.onlinequizzapp.model.type.Difficulty;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
+    @EntityGraph(attributePaths = "topic")
+    Optional<Quiz> findWithTopicById(Long id);
+
+    @EntityGraph(attributePaths = "topic")
+    List<Quiz> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "topic")
+    List<Quiz> findByTopicIdAndIdGreaterThanOrderByIdAsc(Long topicId, Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "topic")
+    List<Quiz> findByDifficultyLevelAndIdGreaterThanOrderByIdAsc(Difficulty difficulty, Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "topic")
+    List<Quiz> findByTopicIdAndDifficultyLevelAndIdGreaterThanOrderByIdAsc(Long topicId, Difficulty difficulty, Long afterId, Limit limit);
+
     Optional<Quiz> findByTitle(String title);
 
     boolean existsQuizByTitleIgnoreCase(String title);
+
+    @Query("select q.updatedAt as updatedAt, t.version as topicVersion from Quiz q join q.topic t where q.id = :id")
+    Optional<EtagSource> findEtagSource(@Param("id") Long id);
+
+    @Query("select q.id from Quiz q")
+    List<Long> findAllIds();
+
+    @Query("select q.id as id, q.topic.id as topicId, q.title as title, q.description as description from Quiz q where q.id > :afterId order by q.id")
+    List<SearchRow> findSearchRows(@Param("afterId") Long afterId, Limit limit);
+
+    interface SearchRow {
+        Long getId();
+
+        Long getTopicId();
+
+        String getTitle();
+
+        String getDescription();
+    }
+
+    interface EtagSource {
+        LocalDateTime getUpdatedAt();
+
+        Long getTopicVersion();
+    }
 }
@@ -1,12 +1,30 @@
 package org.varun.onlinequizzapp.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.varun.onlinequizzapp.model.Topic;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface TopicRepository extends JpaRepository<Topic, Long> {
     boolean existsTopicsByNameIgnoreCase(String name);
 
     Optional<Topic> findByName(String name);
+
+    List<Topic> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("select t.version from Topic t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select t.id as id, t.name as title from Topic t where t.id > :afterId order by t.id")
+    List<SearchRow> findSearchRows(@Param("afterId") Long afterId, Limit limit);
+
+    interface SearchRow {
+        Long getId();
+
+        String getTitle();
+    }
 }
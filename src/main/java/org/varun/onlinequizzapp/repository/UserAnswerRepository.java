@@ -1,10 +1,33 @@
 package org.varun.onlinequizzapp.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.varun.onlinequizzapp.model.UserAnswer;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserAnswerRepository extends JpaRepository<UserAnswer, Long> {
     Optional<UserAnswer> findByQuizAttemptIdAndQuestionId(Long quizAttemptId, Long questionId);
+
+    List<UserAnswer> findByQuizAttemptId(Long quizAttemptId);
+
+    List<UserAnswer> findByQuizAttemptIdAndQuestionIdIn(Long quizAttemptId, Collection<Long> questionIds);
+
+    @Query("select ua.quizAttempt.id as attemptId, ua.id as id, ua.isCorrect as isCorrect, ua.answeredAt as answeredAt " +
+            "from UserAnswer ua where ua.quizAttempt.id in :attemptIds order by ua.id")
+    List<AnswerSummary> findSummariesByAttemptIds(@Param("attemptIds") Collection<Long> attemptIds);
+
+    interface AnswerSummary {
+        Long getAttemptId();
+
+        Long getId();
+
+        Boolean getIsCorrect();
+
+        LocalDateTime getAnsweredAt();
+    }
 }
@@ -0,0 +1,205 @@
+package org.varun.onlinequizzapp.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+@Slf4j
+@Component
+public class AnswerJournal {
+    static final int RECORD_SIZE = 37;
+    private static final int PAYLOAD_SIZE = RECORD_SIZE - Integer.BYTES;
+    private static final long NO_OPTION = -1L;
+    private static final String SEGMENT_PREFIX = "answers-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int retainedSegments;
+    private final CRC32C crc = new CRC32C();
+    private final byte[] payload = new byte[PAYLOAD_SIZE];
+    private final ByteBuffer payloadBuffer = ByteBuffer.wrap(payload);
+
+    private long segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private boolean dirty;
+
+    public AnswerJournal(@Value("${answer.journal.directory:data/answer-journal}") Path directory,
+                         @Value("${answer.journal.segment-size-bytes:67108864}") int segmentSize,
+                         @Value("${answer.journal.retained-segments:8}") int retainedSegments) {
+        this.directory = directory;
+        this.segmentSize = Math.max(segmentSize / RECORD_SIZE, 1) * RECORD_SIZE;
+        this.retainedSegments = Math.max(retainedSegments, 1);
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = listSegments();
+            if (segments.isEmpty()) {
+                openSegment(0);
+            } else {
+                Path last = segments.getLast();
+                openSegment(indexOf(last));
+                buffer.position(validLength(buffer.duplicate().position(0)));
+                clearTail();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open answer journal in " + directory, e);
+        }
+        log.info("[Answer-Journal] Opened segment {} at offset {}", segmentIndex, buffer.position());
+    }
+
+    public record AnswerEvent(Long attemptId, Long questionId, Long optionId, boolean correct, long timestampMillis) {
+    }
+
+    public synchronized void append(Long attemptId, Long questionId, Long optionId, boolean correct) {
+        try {
+            if (buffer.remaining() < RECORD_SIZE) {
+                rotate();
+            }
+            payloadBuffer.clear();
+            payloadBuffer.putLong(attemptId)
+                    .putLong(questionId)
+                    .putLong(optionId != null ? optionId : NO_OPTION)
+                    .put((byte) (correct ? 1 : 0))
+                    .putLong(System.currentTimeMillis());
+            crc.reset();
+            crc.update(payload, 0, PAYLOAD_SIZE);
+            buffer.put(payload).putInt((int) crc.getValue());
+            dirty = true;
+        } catch (IOException e) {
+            log.error("[Answer-Journal] Failed to append answer for attempt {}: {}", attemptId, e.getMessage());
+        }
+    }
+
+    public void replay(Consumer<AnswerEvent> consumer) {
+        List<Path> segments;
+        Path active;
+        ByteBuffer activeView;
+        synchronized (this) {
+            try {
+                segments = listSegments();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to list answer journal segments", e);
+            }
+            active = segmentPath(segmentIndex);
+            activeView = buffer.duplicate().flip();
+        }
+        for (Path segment : segments) {
+            if (segment.equals(active)) {
+                replay(activeView, consumer);
+                continue;
+            }
+            try (FileChannel readChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                replay(readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size()), consumer);
+            } catch (NoSuchFileException e) {
+                log.debug("[Answer-Journal] Segment {} was removed during replay", segment);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to replay answer journal segment " + segment, e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${answer.journal.force-interval-ms:1000}")
+    public synchronized void force() {
+        if (dirty) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void replay(ByteBuffer segment, Consumer<AnswerEvent> consumer) {
+        int length = validLength(segment.duplicate());
+        ByteBuffer records = segment.duplicate();
+        while (records.position() < length) {
+            long attemptId = records.getLong();
+            long questionId = records.getLong();
+            long optionId = records.getLong();
+            boolean correct = records.get() == 1;
+            long timestampMillis = records.getLong();
+            records.getInt();
+            consumer.accept(new AnswerEvent(attemptId, questionId, optionId == NO_OPTION ? null : optionId, correct, timestampMillis));
+        }
+    }
+
+    private int validLength(ByteBuffer segment) {
+        byte[] record = new byte[RECORD_SIZE];
+        CRC32C check = new CRC32C();
+        while (segment.remaining() >= RECORD_SIZE) {
+            int offset = segment.position();
+            segment.get(record);
+            check.reset();
+            check.update(record, 0, PAYLOAD_SIZE);
+            if ((int) check.getValue() != ByteBuffer.wrap(record, PAYLOAD_SIZE, Integer.BYTES).getInt()) {
+                return offset;
+            }
+        }
+        return segment.position();
+    }
+
+    private void clearTail() {
+        ByteBuffer tail = buffer.duplicate();
+        byte[] zeros = new byte[Math.min(tail.remaining(), 64 * 1024)];
+        while (tail.hasRemaining()) {
+            tail.put(zeros, 0, Math.min(zeros.length, tail.remaining()));
+        }
+    }
+
+    private void rotate() throws IOException {
+        buffer.force();
+        channel.close();
+        openSegment(segmentIndex + 1);
+        List<Path> segments = listSegments();
+        for (int i = 0; i < segments.size() - retainedSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+        log.info("[Answer-Journal] Rotated to segment {}", segmentIndex);
+    }
+
+    private void openSegment(long index) throws IOException {
+        segmentIndex = index;
+        channel = FileChannel.open(segmentPath(index), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), segmentSize));
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList());
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%016d", index) + SEGMENT_SUFFIX);
+    }
+
+    private static long indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
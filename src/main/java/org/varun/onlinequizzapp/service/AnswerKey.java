@@ -0,0 +1,118 @@
+package org.varun.onlinequizzapp.service;
+
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+
+import java.util.Arrays;
+import java.util.List;
+
+public final class AnswerKey {
+    private final long[] questionIds;
+    private final String[] questionTitles;
+    private final int[] optionOffsets;
+    private final int[] correctOptionIndexes;
+    private final long[] optionIds;
+    private final String[] optionTexts;
+    private final boolean[] optionCorrect;
+
+    private AnswerKey(long[] questionIds, String[] questionTitles, int[] optionOffsets, int[] correctOptionIndexes, long[] optionIds, String[] optionTexts, boolean[] optionCorrect) {
+        this.questionIds = questionIds;
+        this.questionTitles = questionTitles;
+        this.optionOffsets = optionOffsets;
+        this.correctOptionIndexes = correctOptionIndexes;
+        this.optionIds = optionIds;
+        this.optionTexts = optionTexts;
+        this.optionCorrect = optionCorrect;
+    }
+
+    public static AnswerKey compile(List<QuestionRepository.AnswerKeyRow> rows) {
+        int questionCount = 0;
+        int optionCount = 0;
+        Long lastQuestionId = null;
+        for (QuestionRepository.AnswerKeyRow row : rows) {
+            if (!row.getQuestionId().equals(lastQuestionId)) {
+                questionCount++;
+                lastQuestionId = row.getQuestionId();
+            }
+            if (row.getOptionId() != null) optionCount++;
+        }
+
+        long[] questionIds = new long[questionCount];
+        String[] questionTitles = new String[questionCount];
+        int[] optionOffsets = new int[questionCount + 1];
+        int[] correctOptionIndexes = new int[questionCount];
+        long[] optionIds = new long[optionCount];
+        String[] optionTexts = new String[optionCount];
+        boolean[] optionCorrect = new boolean[optionCount];
+        Arrays.fill(correctOptionIndexes, -1);
+
+        int question = -1;
+        int option = 0;
+        lastQuestionId = null;
+        for (QuestionRepository.AnswerKeyRow row : rows) {
+            if (!row.getQuestionId().equals(lastQuestionId)) {
+                question++;
+                lastQuestionId = row.getQuestionId();
+                questionIds[question] = row.getQuestionId();
+                questionTitles[question] = row.getQuestionTitle().intern();
+                optionOffsets[question] = option;
+            }
+            if (row.getOptionId() != null) {
+                optionIds[option] = row.getOptionId();
+                optionTexts[option] = row.getOptionText().intern();
+                optionCorrect[option] = Boolean.TRUE.equals(row.getIsCorrect());
+                if (optionCorrect[option] && correctOptionIndexes[question] < 0) {
+                    correctOptionIndexes[question] = option;
+                }
+                option++;
+            }
+        }
+        optionOffsets[questionCount] = option;
+        return new AnswerKey(questionIds, questionTitles, optionOffsets, correctOptionIndexes, optionIds, optionTexts, optionCorrect);
+    }
+
+    public int questionIndex(long questionId) {
+        int index = Arrays.binarySearch(questionIds, questionId);
+        return index < 0 ? -1 : index;
+    }
+
+    public int optionIndex(int questionIndex, long optionId) {
+        int index = Arrays.binarySearch(optionIds, optionOffsets[questionIndex], optionOffsets[questionIndex + 1], optionId);
+        return index < 0 ? -1 : index;
+    }
+
+    public int correctOptionIndex(int questionIndex) {
+        return correctOptionIndexes[questionIndex];
+    }
+
+    public boolean isCorrect(int optionIndex) {
+        return optionCorrect[optionIndex];
+    }
+
+    public int questionCount() {
+        return questionIds.length;
+    }
+
+    public long questionId(int questionIndex) {
+        return questionIds[questionIndex];
+    }
+
+    public int optionStart(int questionIndex) {
+        return optionOffsets[questionIndex];
+    }
+
+    public int optionEnd(int questionIndex) {
+        return optionOffsets[questionIndex + 1];
+    }
+
+    public String questionTitle(int questionIndex) {
+        return questionTitles[questionIndex];
+    }
+
+    public long optionId(int optionIndex) {
+        return optionIds[optionIndex];
+    }
+
+    public String optionText(int optionIndex) {
+        return optionTexts[optionIndex];
+    }
+}
@@ -0,0 +1,63 @@
+package org.varun.onlinequizzapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class AnswerKeyCache {
+    private final QuestionRepository questionRepo;
+    private final long ttlMillis;
+    private final Map<Long, Entry> keys = new ConcurrentHashMap<>();
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    public AnswerKeyCache(QuestionRepository questionRepo, @Value("${answer-key.cache.ttl-ms:30000}") long ttlMillis) {
+        this.questionRepo = questionRepo;
+        this.ttlMillis = ttlMillis;
+    }
+
+    private record Entry(long expiresAt, AnswerKey key) {
+        private boolean isFresh(long now) {
+            return expiresAt > now;
+        }
+    }
+
+    public AnswerKey get(Long quizId) {
+        long now = System.currentTimeMillis();
+        Entry entry = keys.get(quizId);
+        if (entry != null && entry.isFresh(now)) {
+            return entry.key();
+        }
+        long generation = generations.getOrDefault(quizId, 0L);
+        Entry compiled = new Entry(ttlMillis > 0 ? now + ttlMillis : Long.MAX_VALUE, AnswerKey.compile(questionRepo.findAnswerKeyRows(quizId)));
+        Entry cached = keys.compute(quizId, (id, current) -> {
+            if (current != null && current.isFresh(now)) return current;
+            return generations.getOrDefault(id, 0L) == generation ? compiled : null;
+        });
+        return cached != null ? cached.key() : compiled.key();
+    }
+
+    public void invalidate(Long quizId) {
+        evict(quizId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(quizId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long quizId) {
+        keys.compute(quizId, (id, current) -> {
+            generations.merge(id, 1L, Long::sum);
+            return null;
+        });
+    }
+}
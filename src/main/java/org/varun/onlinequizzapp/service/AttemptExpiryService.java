@@ -0,0 +1,138 @@
+package org.varun.onlinequizzapp.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.varun.onlinequizzapp.repository.QuizAttemptRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttemptExpiryService {
+    private final QuizAttemptRepository attemptRepo;
+    private final AttemptSessionStore sessionStore;
+    private final LeaderboardService leaderboardService;
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+
+    @Value("${attempt.expiry.batch-size:500}")
+    private int batchSize;
+
+    public static long deadlineMillis(LocalDateTime startedAt, Integer timeLimitMinutes) {
+        if (startedAt == null || timeLimitMinutes == null) {
+            return Long.MAX_VALUE;
+        }
+        return startedAt.plusMinutes(timeLimitMinutes).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public void schedule(Long attemptId, Long quizId, LocalDateTime startedAt, Integer timeLimitMinutes) {
+        long deadline = deadlineMillis(startedAt, timeLimitMinutes);
+        if (deadline != Long.MAX_VALUE) {
+            queue.add(new Expiry(attemptId, quizId, deadline));
+        }
+    }
+
+    public void discardQuizzes(Collection<Long> quizIds) {
+        if (quizIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    discard(quizIds);
+                }
+            });
+        } else {
+            discard(quizIds);
+        }
+    }
+
+    public void rescheduleQuiz(Long quizId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reschedule(quizId);
+                }
+            });
+        } else {
+            reschedule(quizId);
+        }
+    }
+
+    private void reschedule(Long quizId) {
+        queue.removeIf(expiry -> expiry.quizId().equals(quizId));
+        List<QuizAttemptRepository.PendingExpiry> active = attemptRepo.findActiveAttempts(quizId);
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (QuizAttemptRepository.PendingExpiry attempt : active) {
+            deadlines.put(attempt.getId(), deadlineMillis(attempt.getStartedAt(), attempt.getTimeLimitMinutes()));
+            schedule(attempt.getId(), quizId, attempt.getStartedAt(), attempt.getTimeLimitMinutes());
+        }
+        int sessions = sessionStore.reschedule(quizId, deadlines);
+        log.info("[Attempt-Expiry] Rescheduled {} active attempts and {} sessions for quiz {}", active.size(), sessions, quizId);
+    }
+
+    private void discard(Collection<Long> quizIds) {
+        Set<Long> deleted = Set.copyOf(quizIds);
+        int sessions = sessionStore.discardQuizzes(deleted);
+        queue.removeIf(expiry -> deleted.contains(expiry.quizId()));
+        log.info("[Attempt-Expiry] Discarded {} sessions and pending expiries for deleted quizzes {}", sessions, deleted);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingExpiries() {
+        List<QuizAttemptRepository.PendingExpiry> pending = attemptRepo.findPendingExpiries();
+        pending.forEach(expiry -> schedule(expiry.getId(), expiry.getQuizId(), expiry.getStartedAt(), expiry.getTimeLimitMinutes()));
+        log.info("[Attempt-Expiry] Scheduled {} incomplete time-limited attempts", pending.size());
+    }
+
+    @Scheduled(fixedDelayString = "${attempt.expiry.poll-interval-ms:1000}")
+    public void expireDueAttempts() {
+        List<Expiry> due = new ArrayList<>();
+        while (queue.drainTo(due, batchSize) > 0) {
+            List<Long> attemptIds = due.stream().map(Expiry::attemptId).toList();
+            try {
+                LocalDateTime completedAt = LocalDateTime.now();
+                attemptIds.forEach(sessionStore::complete);
+                int closed = attemptRepo.completeAttempts(attemptIds, completedAt);
+                attemptIds.forEach(attemptId -> leaderboardService.markCompleted(attemptId, completedAt));
+                log.info("[Attempt-Expiry] Closed {} expired attempts", closed);
+            } catch (RuntimeException e) {
+                queue.addAll(due);
+                log.error("[Attempt-Expiry] Failed to close {} expired attempts: {}", due.size(), e.getMessage());
+                return;
+            }
+            due.clear();
+        }
+    }
+
+    private record Expiry(Long attemptId, Long quizId, long deadlineMillis) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadlineMillis, ((Expiry) other).deadlineMillis);
+        }
+    }
+}
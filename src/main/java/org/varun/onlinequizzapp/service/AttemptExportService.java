@@ -0,0 +1,184 @@
+package org.varun.onlinequizzapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Service
+public class AttemptExportService {
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private static final String[] COLUMNS = {
+            "attemptId", "userId", "username", "quizId", "quizTitle", "score", "totalQuestions", "attemptedQuestions",
+            "startedAt", "completedAt", "isCompleted", "questionId", "selectedOptionId", "isCorrect", "answeredAt"
+    };
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final CsvSchema CSV_SCHEMA;
+
+    static {
+        CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+        for (String column : COLUMNS) {
+            schema.addColumn(column);
+        }
+        CSV_SCHEMA = schema.build();
+    }
+
+    private final SessionFactory sessionFactory;
+    private final AttemptSessionStore attemptSessionStore;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public AttemptExportService(EntityManagerFactory entityManagerFactory,
+                                AttemptSessionStore attemptSessionStore,
+                                ObjectMapper objectMapper,
+                                @Value("${attempt.export.fetch-size:1000}") int fetchSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.attemptSessionStore = attemptSessionStore;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    private interface RowWriter extends AutoCloseable {
+        void write(Object[] row) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportAttempts(Format format, Long quizId, Long topicId,
+                                                                LocalDateTime from, LocalDateTime to, boolean gzip) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before 'to'");
+        }
+        attemptSessionStore.flushAll();
+
+        StringBuilder hql = new StringBuilder("select a.id, u.id, u.username, q.id, q.title, a.score, a.totalQuestions, a.attemptedQuestions, " +
+                "a.startedAt, a.completedAt, a.isCompleted, ua.question.id, ua.selectedOption.id, ua.isCorrect, ua.answeredAt " +
+                "from QuizAttempt a join a.user u join a.quiz q left join a.userAnswers ua where 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (quizId != null) {
+            hql.append(" and q.id = :quizId");
+            parameters.put("quizId", quizId);
+        }
+        if (topicId != null) {
+            hql.append(" and q.topic.id = :topicId");
+            parameters.put("topicId", topicId);
+        }
+        if (from != null) {
+            hql.append(" and a.startedAt >= :from");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            hql.append(" and a.startedAt < :to");
+            parameters.put("to", to);
+        }
+        hql.append(" order by a.id, ua.id");
+
+        String extension = format == Format.CSV ? "csv" : "ndjson";
+        StreamingResponseBody body = outputStream -> stream(hql.toString(), parameters, format, gzip ? new GZIPOutputStream(outputStream, 65536) : outputStream);
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip")
+                        : format == Format.CSV ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("attempts." + extension + (gzip ? ".gz" : "")).build().toString())
+                .body(body);
+    }
+
+    private void stream(String hql, Map<String, Object> parameters, Format format, OutputStream target) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.doWork(connection -> connection.setReadOnly(true));
+            session.beginTransaction();
+            try {
+                SelectionQuery<Object[]> query = session.createSelectionQuery(hql, Object[].class)
+                        .setFetchSize(fetchSize)
+                        .setReadOnly(true);
+                parameters.forEach(query::setParameter);
+                try (ScrollableResults<Object[]> results = query.scroll(ScrollMode.FORWARD_ONLY);
+                     RowWriter writer = format == Format.CSV ? csvWriter(target) : ndjsonWriter(target)) {
+                    while (results.next()) {
+                        Object[] row = results.get();
+                        for (int i = 0; i < row.length; i++) {
+                            if (row[i] instanceof LocalDateTime dateTime) {
+                                row[i] = dateTime.toString();
+                            }
+                        }
+                        writer.write(row);
+                        rows++;
+                    }
+                }
+            } finally {
+                session.getTransaction().rollback();
+            }
+        }
+        log.info("[Export-Attempts] Exported {} rows as {} in {} ms", rows, format, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private RowWriter csvWriter(OutputStream target) throws IOException {
+        SequenceWriter writer = CSV_MAPPER.writer(CSV_SCHEMA).writeValues(new BufferedOutputStream(target, 65536));
+        return new RowWriter() {
+            @Override
+            public void write(Object[] row) throws IOException {
+                writer.write(row);
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+
+    private RowWriter ndjsonWriter(OutputStream target) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(new BufferedOutputStream(target, 65536));
+        generator.setRootValueSeparator(null);
+        return new RowWriter() {
+            @Override
+            public void write(Object[] row) throws IOException {
+                generator.writeStartObject();
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    generator.writeFieldName(COLUMNS[i]);
+                    generator.writeObject(row[i]);
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+
+            @Override
+            public void close() throws IOException {
+                generator.close();
+            }
+        };
+    }
+}
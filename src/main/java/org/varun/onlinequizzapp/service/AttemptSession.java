@@ -0,0 +1,191 @@
+package org.varun.onlinequizzapp.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+public class AttemptSession {
+    private static final AtomicLong REVISIONS = new AtomicLong();
+
+    @Getter
+    private final Long attemptId;
+    @Getter
+    private final Long userId;
+    @Getter
+    private final Long quizId;
+    @Getter
+    private volatile long deadlineMillis;
+    @Getter
+    private volatile long lastAccessMillis = System.currentTimeMillis();
+    private int score;
+    private int attemptedQuestions;
+    private int pendingScoreDelta;
+    private int pendingAttemptedDelta;
+    private boolean completed;
+    private boolean recount;
+    private long revision;
+
+    private final Map<Long, AnswerState> answers = new HashMap<>();
+    private final Map<Long, AnswerState> pendingAnswers = new LinkedHashMap<>();
+    final ReentrantLock flushLock = new ReentrantLock();
+
+    public AttemptSession(Long attemptId, Long userId, Long quizId, long deadlineMillis, int score, int attemptedQuestions, boolean completed) {
+        this.attemptId = attemptId;
+        this.userId = userId;
+        this.quizId = quizId;
+        this.deadlineMillis = deadlineMillis;
+        this.score = score;
+        this.attemptedQuestions = attemptedQuestions;
+        this.completed = completed;
+    }
+
+    public record AnswerState(Long questionId, Long optionId, boolean correct, LocalDateTime answeredAt) {
+    }
+
+    public record SubmittedAnswer(Long questionId, Long optionId, boolean correct) {
+    }
+
+    public record Progress(int score, int attemptedQuestions, long revision) {
+    }
+
+    public record Snapshot(int scoreDelta, int attemptedDelta, List<AnswerState> answers, boolean recount) {
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= deadlineMillis;
+    }
+
+    void reschedule(long deadlineMillis) {
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    synchronized void restoreAnswer(AnswerState state) {
+        answers.put(state.questionId(), state);
+    }
+
+    synchronized AnswerState recordAnswer(Long questionId, Long optionId, boolean correct) {
+        lastAccessMillis = System.currentTimeMillis();
+        return apply(questionId, optionId, correct, LocalDateTime.now());
+    }
+
+    synchronized boolean recoverAnswer(Long questionId, Long optionId, boolean correct, LocalDateTime answeredAt) {
+        AnswerState current = answers.get(questionId);
+        if (current != null && (current.answeredAt() == null || Objects.equals(current.optionId(), optionId)
+                || current.answeredAt().truncatedTo(ChronoUnit.MILLIS).isAfter(answeredAt))) {
+            return false;
+        }
+        apply(questionId, optionId, correct, answeredAt);
+        return true;
+    }
+
+    private AnswerState apply(Long questionId, Long optionId, boolean correct, LocalDateTime answeredAt) {
+        AnswerState previous = answers.get(questionId);
+        int scoreDelta = 0;
+        if (previous == null) {
+            attemptedQuestions++;
+            pendingAttemptedDelta++;
+            if (correct) scoreDelta = 1;
+        } else if (previous.correct() != correct) {
+            scoreDelta = correct ? 1 : -1;
+        }
+        score += scoreDelta;
+        pendingScoreDelta += scoreDelta;
+        revision = REVISIONS.incrementAndGet();
+        AnswerState state = new AnswerState(questionId, optionId, correct, answeredAt);
+        answers.put(questionId, state);
+        pendingAnswers.put(questionId, state);
+        return previous;
+    }
+
+    synchronized void markCompleted() {
+        this.completed = true;
+    }
+
+    synchronized boolean isDirty() {
+        return !pendingAnswers.isEmpty() || recount;
+    }
+
+    synchronized Snapshot drainPending() {
+        Snapshot snapshot = new Snapshot(pendingScoreDelta, pendingAttemptedDelta, new ArrayList<>(pendingAnswers.values()), recount);
+        pendingAnswers.clear();
+        pendingScoreDelta = 0;
+        pendingAttemptedDelta = 0;
+        recount = false;
+        return snapshot;
+    }
+
+    synchronized void requeue(Snapshot failed) {
+        for (AnswerState state : failed.answers()) {
+            pendingAnswers.putIfAbsent(state.questionId(), state);
+        }
+        pendingScoreDelta += failed.scoreDelta();
+        pendingAttemptedDelta += failed.attemptedDelta();
+        recount |= failed.recount();
+    }
+
+    synchronized List<Long> findAnswers(Predicate<AnswerState> matching) {
+        Set<Long> questionIds = new LinkedHashSet<>();
+        for (AnswerState state : answers.values()) {
+            if (matching.test(state)) questionIds.add(state.questionId());
+        }
+        for (AnswerState state : pendingAnswers.values()) {
+            if (matching.test(state)) questionIds.add(state.questionId());
+        }
+        return new ArrayList<>(questionIds);
+    }
+
+    synchronized AnswerState revert(Long questionId, AnswerState stored, Predicate<AnswerState> invalid) {
+        AnswerState pending = pendingAnswers.get(questionId);
+        AnswerState current = answers.get(questionId);
+        boolean currentInvalid = current != null && invalid.test(current);
+        if (pending != null && invalid.test(pending)) {
+            pendingAnswers.remove(questionId);
+        } else if (!currentInvalid) {
+            return null;
+        }
+        if (currentInvalid) {
+            if (stored != null) {
+                answers.put(questionId, stored);
+            } else {
+                answers.remove(questionId);
+            }
+        }
+        score = (int) answers.values().stream().filter(AnswerState::correct).count();
+        attemptedQuestions = answers.size();
+        revision = REVISIONS.incrementAndGet();
+        recount = true;
+        return currentInvalid ? current : null;
+    }
+
+    public synchronized Progress getProgress() {
+        return new Progress(score, attemptedQuestions, revision);
+    }
+
+    public synchronized int getScore() {
+        return score;
+    }
+
+    public synchronized int getAttemptedQuestions() {
+        return attemptedQuestions;
+    }
+
+    public synchronized boolean isCompleted() {
+        return completed;
+    }
+
+    public synchronized AnswerState getAnswer(Long questionId) {
+        return answers.get(questionId);
+    }
+}
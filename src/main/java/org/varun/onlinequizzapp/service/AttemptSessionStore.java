@@ -0,0 +1,350 @@
+package org.varun.onlinequizzapp.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.varun.onlinequizzapp.model.UserAnswer;
+import org.varun.onlinequizzapp.repository.QuestionOptionRepository;
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+import org.varun.onlinequizzapp.repository.QuizAttemptRepository;
+import org.varun.onlinequizzapp.repository.UserAnswerRepository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class AttemptSessionStore {
+    public enum FlushMode {
+        IMMEDIATE,
+        INTERVAL
+    }
+
+    private final QuizAttemptRepository attemptRepo;
+    private final UserAnswerRepository userAnswerRepo;
+    private final QuestionRepository questionRepo;
+    private final QuestionOptionRepository optionRepo;
+    private final AnswerJournal journal;
+    private final QuestionStatsService questionStatsService;
+    private final TransactionTemplate transactionTemplate;
+    private final FlushMode flushMode;
+    private final long idleTimeoutMs;
+    private final Map<Long, AttemptSession> sessions = new ConcurrentHashMap<>();
+
+    public AttemptSessionStore(QuizAttemptRepository attemptRepo,
+                               UserAnswerRepository userAnswerRepo,
+                               QuestionRepository questionRepo,
+                               QuestionOptionRepository optionRepo,
+                               AnswerJournal journal,
+                               QuestionStatsService questionStatsService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${attempt.session.flush-mode:INTERVAL}") FlushMode flushMode,
+                               @Value("${attempt.session.idle-timeout-ms:1800000}") long idleTimeoutMs) {
+        this.attemptRepo = attemptRepo;
+        this.userAnswerRepo = userAnswerRepo;
+        this.questionRepo = questionRepo;
+        this.optionRepo = optionRepo;
+        this.journal = journal;
+        this.questionStatsService = questionStatsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.flushMode = flushMode;
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    public Optional<AttemptSession> getSession(Long attemptId) {
+        AttemptSession session = sessions.get(attemptId);
+        if (session != null) {
+            return Optional.of(session);
+        }
+        AttemptSession loaded = load(attemptId);
+        if (loaded == null) {
+            return Optional.empty();
+        }
+        if (loaded.isCompleted()) {
+            return Optional.of(loaded);
+        }
+        AttemptSession existing = sessions.putIfAbsent(attemptId, loaded);
+        return Optional.of(existing != null ? existing : loaded);
+    }
+
+    public AttemptSession.AnswerState recordAnswer(AttemptSession session, Long questionId, Long optionId, boolean correct) {
+        AttemptSession.AnswerState previous = session.recordAnswer(questionId, optionId, correct);
+        if (flushMode == FlushMode.IMMEDIATE || sessions.get(session.getAttemptId()) != session) {
+            flush(session);
+        }
+        return previous;
+    }
+
+    public List<AttemptSession.AnswerState> recordAnswers(AttemptSession session, List<AttemptSession.SubmittedAnswer> answers) {
+        List<AttemptSession.AnswerState> previous = new ArrayList<>(answers.size());
+        for (AttemptSession.SubmittedAnswer answer : answers) {
+            previous.add(session.recordAnswer(answer.questionId(), answer.optionId(), answer.correct()));
+        }
+        flush(session);
+        return previous;
+    }
+
+    public void complete(Long attemptId) {
+        AttemptSession session = sessions.get(attemptId);
+        if (session == null) {
+            return;
+        }
+        session.markCompleted();
+        flush(session);
+        evict(session);
+    }
+
+    public int discardQuizzes(Set<Long> quizIds) {
+        int discarded = 0;
+        for (AttemptSession session : sessions.values()) {
+            if (quizIds.contains(session.getQuizId()) && sessions.remove(session.getAttemptId(), session)) {
+                discarded++;
+            }
+        }
+        return discarded;
+    }
+
+    public int reschedule(Long quizId, Map<Long, Long> deadlines) {
+        int rescheduled = 0;
+        for (AttemptSession session : sessions.values()) {
+            Long deadline = deadlines.get(session.getAttemptId());
+            if (session.getQuizId().equals(quizId) && deadline != null) {
+                session.reschedule(deadline);
+                rescheduled++;
+            }
+        }
+        return rescheduled;
+    }
+
+    public int discardQuestion(Long quizId, Long questionId) {
+        return discardAnswers(quizId, state -> state.questionId().equals(questionId));
+    }
+
+    public int discardOption(Long quizId, Long optionId) {
+        return discardAnswers(quizId, state -> optionId.equals(state.optionId()));
+    }
+
+    private int discardAnswers(Long quizId, Predicate<AttemptSession.AnswerState> invalid) {
+        int discarded = 0;
+        for (AttemptSession session : sessions.values()) {
+            if (session.getQuizId().equals(quizId)) {
+                discarded += revertAnswers(session, invalid);
+            }
+        }
+        return discarded;
+    }
+
+    public void flushUserSessions(Long userId) {
+        sessions.values().stream()
+                .filter(session -> session.getUserId().equals(userId))
+                .forEach(this::flush);
+    }
+
+    @Scheduled(fixedDelayString = "${attempt.session.flush-interval-ms:2000}")
+    public void flushAll() {
+        long idleBefore = System.currentTimeMillis() - idleTimeoutMs;
+        for (AttemptSession session : sessions.values()) {
+            flush(session);
+            if (session.getLastAccessMillis() < idleBefore) {
+                evict(session);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void recoverFromJournal() {
+        Set<Long> closedAttempts = new HashSet<>();
+        int[] recovered = {0};
+        journal.replay(event -> {
+            if (closedAttempts.contains(event.attemptId())) {
+                return;
+            }
+            AttemptSession session = getSession(event.attemptId()).orElse(null);
+            if (session == null || session.isCompleted()) {
+                closedAttempts.add(event.attemptId());
+                return;
+            }
+            LocalDateTime answeredAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(event.timestampMillis()), ZoneId.systemDefault());
+            if (session.recoverAnswer(event.questionId(), event.optionId(), event.correct(), answeredAt)) {
+                recovered[0]++;
+            }
+        });
+        flushAll();
+        log.info("[Attempt-Session] Recovered {} unpersisted answers from the answer journal", recovered[0]);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("[Attempt-Session] Flushing {} active attempt sessions before shutdown", sessions.size());
+        flushAll();
+    }
+
+    public void flush(AttemptSession session) {
+        session.flushLock.lock();
+        try {
+            if (!session.isDirty()) {
+                return;
+            }
+            AttemptSession.Snapshot snapshot = session.drainPending();
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(session, snapshot));
+            } catch (DataIntegrityViolationException e) {
+                session.requeue(snapshot);
+                reconcile(session, snapshot, e);
+            } catch (RuntimeException e) {
+                session.requeue(snapshot);
+                log.error("[Attempt-Session] Failed to flush attempt {}: {}", session.getAttemptId(), e.getMessage());
+            }
+        } finally {
+            session.flushLock.unlock();
+        }
+    }
+
+    private void reconcile(AttemptSession session, AttemptSession.Snapshot snapshot, DataIntegrityViolationException cause) {
+        Long attemptId = session.getAttemptId();
+        Set<Long> missingQuestions = snapshot.answers().stream().map(AttemptSession.AnswerState::questionId).collect(Collectors.toSet());
+        Set<Long> missingOptions = snapshot.answers().stream().map(AttemptSession.AnswerState::optionId).filter(Objects::nonNull).collect(Collectors.toSet());
+        boolean attemptExists = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            missingQuestions.removeAll(questionRepo.findExistingIds(missingQuestions));
+            if (!missingOptions.isEmpty()) {
+                missingOptions.removeAll(optionRepo.findExistingIds(missingOptions));
+            }
+            return attemptRepo.existsById(attemptId);
+        }));
+        if (!attemptExists) {
+            sessions.remove(attemptId, session);
+            log.error("[Attempt-Session] Dropped {} answers for attempt {} that no longer exists: {}",
+                    snapshot.answers().size(), attemptId, cause.getMostSpecificCause().getMessage());
+            return;
+        }
+        int discarded = revertAnswers(session, state -> missingQuestions.contains(state.questionId()) || missingOptions.contains(state.optionId()));
+        if (discarded == 0) {
+            log.error("[Attempt-Session] Failed to flush attempt {}: {}", attemptId, cause.getMostSpecificCause().getMessage());
+            return;
+        }
+        log.warn("[Attempt-Session] Discarded {} answers for attempt {} whose question or option was deleted", discarded, attemptId);
+        flush(session);
+    }
+
+    private int revertAnswers(AttemptSession session, Predicate<AttemptSession.AnswerState> invalid) {
+        List<Long> questionIds = session.findAnswers(invalid);
+        if (questionIds.isEmpty()) {
+            return 0;
+        }
+        Map<Long, AttemptSession.AnswerState> stored = transactionTemplate.execute(status ->
+                userAnswerRepo.findByQuizAttemptIdAndQuestionIdIn(session.getAttemptId(), questionIds).stream()
+                        .map(AttemptSessionStore::toState)
+                        .filter(invalid.negate())
+                        .collect(Collectors.toMap(AttemptSession.AnswerState::questionId, Function.identity(), (first, second) -> second)));
+        for (Long questionId : questionIds) {
+            AttemptSession.AnswerState restored = stored.get(questionId);
+            AttemptSession.AnswerState discarded = session.revert(questionId, restored, invalid);
+            if (discarded != null) {
+                questionStatsService.revertAnswer(questionId, discarded, restored);
+            }
+        }
+        return questionIds.size();
+    }
+
+    private void evict(AttemptSession session) {
+        session.flushLock.lock();
+        try {
+            flush(session);
+            if (session.isDirty() || !sessions.remove(session.getAttemptId(), session)) {
+                return;
+            }
+            if (session.isDirty()) {
+                flush(session);
+                if (session.isDirty()) {
+                    sessions.putIfAbsent(session.getAttemptId(), session);
+                }
+            }
+        } finally {
+            session.flushLock.unlock();
+        }
+    }
+
+    private void persist(AttemptSession session, AttemptSession.Snapshot snapshot) {
+        Long attemptId = session.getAttemptId();
+        List<Long> questionIds = snapshot.answers().stream().map(AttemptSession.AnswerState::questionId).toList();
+        Map<Long, UserAnswer> existing = userAnswerRepo.findByQuizAttemptIdAndQuestionIdIn(attemptId, questionIds)
+                .stream()
+                .collect(Collectors.toMap(answer -> answer.getQuestion().getId(), Function.identity(),
+                        (first, second) -> first.getId() > second.getId() ? first : second));
+
+        List<UserAnswer> rows = new ArrayList<>(snapshot.answers().size());
+        for (AttemptSession.AnswerState state : snapshot.answers()) {
+            UserAnswer row = existing.get(state.questionId());
+            if (row == null) {
+                row = UserAnswer.builder()
+                        .quizAttempt(attemptRepo.getReferenceById(attemptId))
+                        .question(questionRepo.getReferenceById(state.questionId()))
+                        .build();
+            }
+            row.setSelectedOption(optionRepo.getReferenceById(state.optionId()));
+            row.setIsCorrect(state.correct());
+            row.setAnsweredAt(state.answeredAt());
+            rows.add(row);
+        }
+        if (snapshot.recount()) {
+            userAnswerRepo.saveAllAndFlush(rows);
+            attemptRepo.recountProgress(attemptId);
+        } else {
+            userAnswerRepo.saveAll(rows);
+            if (snapshot.scoreDelta() != 0 || snapshot.attemptedDelta() != 0) {
+                attemptRepo.incrementProgress(attemptId, snapshot.scoreDelta(), snapshot.attemptedDelta());
+            }
+        }
+        log.debug("[Attempt-Session] Flushed {} answers for attempt {}", rows.size(), attemptId);
+    }
+
+    private AttemptSession load(Long attemptId) {
+        return transactionTemplate.execute(status -> attemptRepo.findById(attemptId).map(attempt -> {
+            AttemptSession session = new AttemptSession(
+                    attempt.getId(),
+                    attempt.getUser().getId(),
+                    attempt.getQuiz().getId(),
+                    AttemptExpiryService.deadlineMillis(attempt.getStartedAt(), attempt.getQuiz().getTimeLimitMinutes()),
+                    attempt.getScore(),
+                    attempt.getAttemptedQuestions(),
+                    attempt.getIsCompleted()
+            );
+            for (UserAnswer answer : userAnswerRepo.findByQuizAttemptId(attemptId)) {
+                session.restoreAnswer(toState(answer));
+            }
+            return session;
+        }).orElse(null));
+    }
+
+    private static AttemptSession.AnswerState toState(UserAnswer answer) {
+        return new AttemptSession.AnswerState(
+                answer.getQuestion().getId(),
+                answer.getSelectedOption() != null ? answer.getSelectedOption().getId() : null,
+                answer.getIsCorrect(),
+                answer.getAnsweredAt());
+    }
+}
@@ -11,7 +11,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
@@ -33,10 +33,11 @@ import java.util.Random;
 @RequiredArgsConstructor
 public class AuthService {
     private final UserRepository userRepo;
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordEncoder encoder;
     private final EmailService emailService;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final PrincipalCache principalCache;
 
     public ResponseEntity<?> signUp(@Valid SignUpDto signUpDto) {
         //Check if a username exists
@@ -109,6 +110,7 @@ public class AuthService {
                 user.setVerificationCode(null);
                 user.setEnabled(true);
                 userRepo.save(user);
+                principalCache.invalidate(user.getId());
                 log.info("[Verify-code] Email verification for user {} is processed successfully", verificationCodeDto.email());
                 return new ResponseEntity<>(new ApiResponse<>(true, "User verified successfully"), HttpStatus.OK);
             } else {
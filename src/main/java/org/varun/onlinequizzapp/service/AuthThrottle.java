@@ -0,0 +1,80 @@
+package org.varun.onlinequizzapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.varun.onlinequizzapp.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class AuthThrottle {
+    private final RateLimiter ipLimiter;
+    private final RateLimiter loginLimiter;
+    private final RateLimiter mailLimiter;
+    private final Counter ipRejections;
+    private final Counter loginRejections;
+    private final Counter mailRejections;
+
+    public AuthThrottle(@Value("${auth.throttle.ip.capacity:30}") int ipCapacity,
+                        @Value("${auth.throttle.ip.refill-seconds:2}") long ipRefillSeconds,
+                        @Value("${auth.throttle.login.capacity:5}") int loginCapacity,
+                        @Value("${auth.throttle.login.refill-seconds:30}") long loginRefillSeconds,
+                        @Value("${auth.throttle.mail.capacity:3}") int mailCapacity,
+                        @Value("${auth.throttle.mail.refill-seconds:300}") long mailRefillSeconds,
+                        @Value("${auth.throttle.max-keys:100000}") int maxKeys,
+                        MeterRegistry meterRegistry) {
+        this.ipLimiter = new RateLimiter(ipCapacity, Duration.ofSeconds(ipRefillSeconds), maxKeys, System::nanoTime);
+        this.loginLimiter = new RateLimiter(loginCapacity, Duration.ofSeconds(loginRefillSeconds), maxKeys, System::nanoTime);
+        this.mailLimiter = new RateLimiter(mailCapacity, Duration.ofSeconds(mailRefillSeconds), maxKeys, System::nanoTime);
+        this.ipRejections = Counter.builder("auth.throttle.rejections").tag("limit", "ip").register(meterRegistry);
+        this.loginRejections = Counter.builder("auth.throttle.rejections").tag("limit", "login").register(meterRegistry);
+        this.mailRejections = Counter.builder("auth.throttle.rejections").tag("limit", "mail").register(meterRegistry);
+    }
+
+    public void checkSignIn(String clientIp, String login) {
+        check(ipLimiter, ipRejections, clientIp);
+        check(loginLimiter, loginRejections, normalize(login));
+    }
+
+    public void checkVerification(String clientIp, String email) {
+        check(ipLimiter, ipRejections, clientIp);
+        check(loginLimiter, loginRejections, normalize(email));
+    }
+
+    public void checkMail(String clientIp, String email) {
+        check(ipLimiter, ipRejections, clientIp);
+        check(mailLimiter, mailRejections, normalize(email));
+    }
+
+    @Scheduled(fixedDelayString = "${auth.throttle.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        int evicted = ipLimiter.evictIdle() + loginLimiter.evictIdle() + mailLimiter.evictIdle();
+        if (evicted > 0) {
+            log.debug("[Auth-Throttle] Evicted {} idle keys", evicted);
+        }
+    }
+
+    private void check(RateLimiter limiter, Counter rejections, String key) {
+        if (key == null) {
+            return;
+        }
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            rejections.increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            log.warn("[Auth-Throttle] Rejected request for {}, retry after {}s", key, retryAfter);
+            throw new TooManyRequestsException("Too many requests, please try again later", retryAfter);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
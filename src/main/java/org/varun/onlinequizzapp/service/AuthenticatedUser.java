@@ -0,0 +1,24 @@
+package org.varun.onlinequizzapp.service;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.varun.onlinequizzapp.model.User;
+import org.varun.onlinequizzapp.model.type.Role;
+
+import java.security.Principal;
+import java.util.List;
+
+public record AuthenticatedUser(Long id, String username, String email, Role role, boolean enabled) implements Principal {
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getEmail(), user.getRole(), user.isEnabled());
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,130 @@
+package org.varun.onlinequizzapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class CatalogCache {
+    public static final String TOPICS = "topics";
+    public static final String QUIZZES = "quizzes";
+    public static final String QUESTIONS = "questions";
+    private static final String QUIZ_PREFIX = "quiz:";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public CatalogCache(@Value("${catalog.cache.max-entries:256}") int maxEntries,
+                        @Value("${catalog.cache.ttl-ms:30000}") long ttlMillis,
+                        MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > CatalogCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = Counter.builder("catalog.cache.gets").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("catalog.cache.gets").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("catalog.cache.evictions").register(meterRegistry);
+        Gauge.builder("catalog.cache.size", this, CatalogCache::size).register(meterRegistry);
+    }
+
+    private record Entry(long stamp, long window, Object value) {
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, List<String> tags, Supplier<T> loader) {
+        long stamp = stamp(tags);
+        long window = window();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.stamp() == stamp && entry.window() == window) {
+                hits.increment();
+                return (T) entry.value();
+            }
+        }
+        misses.increment();
+        T value = loader.get();
+        synchronized (entries) {
+            if (stamp(tags) == stamp) {
+                entries.put(key, new Entry(stamp, window, value));
+            }
+        }
+        return value;
+    }
+
+    public static String quiz(Long quizId) {
+        return QUIZ_PREFIX + quizId;
+    }
+
+    public String token(List<String> tags) {
+        return epoch + "-" + stamp(tags) + "-" + window();
+    }
+
+    public String etag(List<String> tags) {
+        return HttpCaching.etag(token(tags));
+    }
+
+    public void invalidate(String... tags) {
+        bump(tags);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(tags);
+                }
+            });
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void bump(String... tags) {
+        for (String tag : tags) {
+            versions.computeIfAbsent(tag, t -> new AtomicLong()).incrementAndGet();
+        }
+        log.debug("[Catalog-Cache] Invalidated tags {}", (Object) tags);
+    }
+
+    private long window() {
+        return ttlMillis > 0 ? System.currentTimeMillis() / ttlMillis : 0;
+    }
+
+    private long stamp(List<String> tags) {
+        long stamp = 0;
+        for (String tag : tags) {
+            AtomicLong version = versions.get(tag);
+            if (version != null) stamp += version.get();
+        }
+        return stamp;
+    }
+}
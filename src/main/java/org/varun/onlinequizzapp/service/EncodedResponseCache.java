@@ -0,0 +1,150 @@
+package org.varun.onlinequizzapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Component
+public class EncodedResponseCache {
+    private final ObjectMapper objectMapper;
+    private final boolean gzipEnabled;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Map<String, Encoded> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public EncodedResponseCache(ObjectMapper objectMapper,
+                                @Value("${response.cache.gzip-enabled:true}") boolean gzipEnabled,
+                                @Value("${response.cache.max-entries:1024}") int maxEntries,
+                                @Value("${response.cache.max-bytes:67108864}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.gzipEnabled = gzipEnabled;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    private static final class Encoded {
+        private final String etag;
+        private final byte[] json;
+        private volatile byte[] gzip;
+
+        private Encoded(String etag, byte[] json) {
+            this.etag = etag;
+            this.json = json;
+        }
+
+        private byte[] gzip() {
+            byte[] compressed = gzip;
+            if (compressed == null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2 + 32);
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                    gzipOut.write(json);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                compressed = out.toByteArray();
+                gzip = compressed;
+            }
+            return compressed;
+        }
+    }
+
+    public ResponseEntity<?> respond(String key, String etag, WebRequest request, Supplier<?> body) {
+        return respond(key, etag, HttpCaching.CATALOG, request, body);
+    }
+
+    public ResponseEntity<?> respond(String key, String etag, CacheControl cacheControl, WebRequest request, Supplier<?> body) {
+        boolean gzip = gzipEnabled && acceptsGzip(request);
+        String variantEtag = gzip ? etag.substring(0, etag.length() - 1) + "-gzip\"" : etag;
+        if (request.checkNotModified(variantEtag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(variantEtag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        Encoded encoded = lookup(key, etag);
+        if (encoded == null) {
+            encoded = new Encoded(etag, encode(body.get()));
+            store(key, encoded);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(variantEtag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzipEnabled) {
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (gzip) {
+            byte[] compressed = encoded.gzip();
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(compressed);
+        }
+        return response.body(encoded.json);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Encoded lookup(String key, String etag) {
+        synchronized (entries) {
+            Encoded encoded = entries.get(key);
+            return encoded != null && encoded.etag.equals(etag) ? encoded : null;
+        }
+    }
+
+    private void store(String key, Encoded encoded) {
+        synchronized (entries) {
+            Encoded previous = entries.put(key, encoded);
+            if (previous != null) {
+                totalBytes -= previous.json.length;
+            }
+            totalBytes += encoded.json.length;
+            Iterator<Encoded> eldest = entries.values().iterator();
+            while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+                Encoded evicted = eldest.next();
+                if (evicted == encoded) {
+                    break;
+                }
+                totalBytes -= evicted.json.length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private byte[] encode(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            log.error("[Encoded-Response] Failed to encode response body: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to encode response");
+        }
+    }
+
+    private static boolean acceptsGzip(WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
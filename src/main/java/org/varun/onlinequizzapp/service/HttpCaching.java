@@ -0,0 +1,25 @@
+package org.varun.onlinequizzapp.service;
+
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+
+final class HttpCaching {
+    static final CacheControl CATALOG = CacheControl.maxAge(Duration.ZERO)
+            .cachePublic()
+            .sMaxAge(Duration.ofSeconds(60))
+            .staleWhileRevalidate(Duration.ofSeconds(30));
+    static final CacheControl PRIVATE = CacheControl.noCache().cachePrivate();
+
+    private HttpCaching() {
+    }
+
+    static String etag(Object... parts) {
+        StringBuilder value = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) value.append('-');
+            value.append(parts[i]);
+        }
+        return value.append('"').toString();
+    }
+}
@@ -0,0 +1,56 @@
+package org.varun.onlinequizzapp.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.varun.onlinequizzapp.dto.PageResponseDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+final class IdCursor {
+    static final int MAX_PAGE_SIZE = 100;
+
+    private IdCursor() {
+    }
+
+    static int pageSize(Integer size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        return decode(cursor, 1, parts -> Long.parseLong(parts[0]));
+    }
+
+    static <T> T decode(String cursor, int partCount, Function<String[], T> parser) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != partCount) {
+                throw new IllegalArgumentException("Expected " + partCount + " cursor parts");
+            }
+            return parser.apply(parts);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    static String encode(Object... parts) {
+        StringJoiner position = new StringJoiner("|");
+        for (Object part : parts) {
+            position.add(String.valueOf(part));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static <E, T> PageResponseDto<T> page(List<E> rows, int pageSize, Function<E, Long> idOf, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> content = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encode(idOf.apply(content.get(content.size() - 1))) : null;
+        return new PageResponseDto<>(content.stream().map(mapper).toList(), pageSize, nextCursor);
+    }
+}
@@ -0,0 +1,105 @@
+package org.varun.onlinequizzapp.service;
+
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class JwtKeyRing {
+    private static final String KEY_FILE_SUFFIX = ".key";
+
+    private final String activeKid;
+    private final SecretKey activeKey;
+    private final Map<String, SecretKey> verificationKeys;
+
+    public JwtKeyRing(@Value("${jwt.keys.active-kid:}") String activeKid,
+                      @Value("${jwt.keys.secrets:}") String secrets,
+                      @Value("${jwt.keys.directory:}") String directory,
+                      @Value("${jwt.keys.allow-ephemeral:false}") boolean allowEphemeral) {
+        Map<String, SecretKey> keys = new HashMap<>();
+        if (!directory.isBlank()) {
+            loadDirectory(Path.of(directory), keys);
+        }
+        for (String entry : secrets.split(",")) {
+            if (entry.isBlank()) continue;
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("JWT key entries must be formatted as <kid>:<base64 secret>");
+            }
+            addKey(keys, entry.substring(0, separator).trim(), entry.substring(separator + 1));
+        }
+        if (keys.isEmpty()) {
+            if (!allowEphemeral) {
+                throw new IllegalStateException("No JWT keys configured; set jwt.keys.secrets or jwt.keys.directory, or jwt.keys.allow-ephemeral=true for development");
+            }
+            activeKid = UUID.randomUUID().toString();
+            keys.put(activeKid, generateKey());
+            log.warn("[Jwt-Keys] No JWT keys configured, signing with an ephemeral key {}; tokens will not survive a restart", activeKid);
+        } else if (activeKid.isBlank() && keys.size() == 1) {
+            activeKid = keys.keySet().iterator().next();
+        }
+        if (!keys.containsKey(activeKid)) {
+            throw new IllegalStateException("Active JWT key id '" + activeKid + "' is not in the key ring " + keys.keySet());
+        }
+        this.activeKid = activeKid;
+        this.activeKey = keys.get(activeKid);
+        this.verificationKeys = Map.copyOf(keys);
+        log.info("[Jwt-Keys] Signing with key {}, accepting keys {}", activeKid, verificationKeys.keySet());
+    }
+
+    public String activeKid() {
+        return activeKid;
+    }
+
+    public SecretKey activeKey() {
+        return activeKey;
+    }
+
+    public SecretKey verificationKey(String kid) {
+        return kid == null ? null : verificationKeys.get(kid);
+    }
+
+    private static void loadDirectory(Path directory, Map<String, SecretKey> keys) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + KEY_FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                addKey(keys, name.substring(0, name.length() - KEY_FILE_SUFFIX.length()), Files.readString(file, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read JWT keys from " + directory, e);
+        }
+    }
+
+    private static void addKey(Map<String, SecretKey> keys, String kid, String secret) {
+        if (kid.isBlank()) {
+            throw new IllegalStateException("JWT key id cannot be blank");
+        }
+        if (keys.put(kid, Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret.trim()))) != null) {
+            throw new IllegalStateException("Duplicate JWT key id '" + kid + "'");
+        }
+    }
+
+    private static SecretKey generateKey() {
+        try {
+            return KeyGenerator.getInstance("HmacSHA256").generateKey();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to generate secret key", e);
+        }
+    }
+}
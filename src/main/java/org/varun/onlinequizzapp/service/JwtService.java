@@ -1,32 +1,51 @@
 package org.varun.onlinequizzapp.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.io.Encoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
-import org.varun.onlinequizzapp.model.User;
 
-import javax.crypto.KeyGenerator;
-import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.function.Function;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class JwtService {
+    private static final int EVICTION_SAMPLE = 32;
+
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
-    private final String secret;
+    @Value("${jwt.verified-cache.max-entries:1024}")
+    private int verifiedCacheSize;
+
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
+    private final Map<String, VerifiedToken> verified = new ConcurrentHashMap<>();
 
-    public JwtService() {
-        this.secret = generateSecret();
+    public JwtService(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                Key key = keyRing.verificationKey(header.getKeyId());
+                if (key == null) {
+                    throw new SignatureException("Unknown JWT key id " + header.getKeyId());
+                }
+                return key;
+            }
+        }).build();
     }
 
     public String generateJwtToken(String subject) {
@@ -35,48 +54,66 @@ public class JwtService {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + (jwtExpirationMs)))
-                .signWith(getKey())
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKid())
+                .signWith(keyRing.activeKey())
                 .compact();
     }
 
-    private String generateSecret() {
-        try {
-            KeyGenerator keyGen = KeyGenerator.getInstance("HmacSHA256");
-            SecretKey key = keyGen.generateKey();
-            return Encoders.BASE64.encode(key.getEncoded());
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Failed to generate secret key", e);
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        String digest = null;
+        if (verifiedCacheSize > 0) {
+            digest = digest(token);
+            VerifiedToken cached = verified.get(digest);
+            if (cached != null) {
+                if (!cached.isExpired(now)) {
+                    return cached;
+                }
+                verified.remove(digest, cached);
+            }
         }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        VerifiedToken result = new VerifiedToken(claims.getSubject(), expiration == null ? null : expiration.toInstant(), Collections.unmodifiableMap(claims));
+        if (digest != null) {
+            if (verified.size() >= verifiedCacheSize) {
+                evictOldest(now);
+            }
+            verified.put(digest, result);
+        }
+        return result;
     }
 
-    private Key getKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-    public String extractSubject(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    private <T> T extractClaim(String token, Function<Claims,T> claimResolver){
-        Claims claims=extractAllClaims(token);
-        return claimResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token){
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private void evictOldest(long now) {
+        Map.Entry<String, VerifiedToken> oldest = null;
+        int sampled = 0;
+        for (Map.Entry<String, VerifiedToken> entry : verified.entrySet()) {
+            VerifiedToken token = entry.getValue();
+            if (token.isExpired(now) && verified.remove(entry.getKey(), token)) {
+                return;
+            }
+            if (oldest == null || expiresAt(token) < expiresAt(oldest.getValue())) {
+                oldest = entry;
+            }
+            if (++sampled >= EVICTION_SAMPLE) {
+                break;
+            }
+        }
+        if (oldest != null) {
+            verified.remove(oldest.getKey(), oldest.getValue());
+        }
     }
 
-    public boolean validateToken(UserDetails userDetails, String token) {
-        String subject=extractSubject(token);
-        return ((subject.equals(((User) userDetails).getEmail()) || subject.equals(userDetails.getUsername())) && !isTokenExpired(token));
+    private static long expiresAt(VerifiedToken token) {
+        return token.expiresAt() == null ? Long.MAX_VALUE : token.expiresAt().toEpochMilli();
     }
 
-    private boolean isTokenExpired(String token){
-        return extractClaim(token,Claims::getExpiration).before(new Date());
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -0,0 +1,132 @@
+package org.varun.onlinequizzapp.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.varun.onlinequizzapp.dto.ApiResponse;
+import org.varun.onlinequizzapp.dto.quiz.LeaderboardEntryDto;
+import org.varun.onlinequizzapp.repository.QuizAttemptRepository;
+import org.varun.onlinequizzapp.repository.QuizRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+    private static final Comparator<Entry> RANKING = Comparator.comparingInt(Entry::score).reversed()
+            .thenComparing(Entry::completedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Entry::attemptId);
+
+    private final QuizRepository quizRepo;
+    private final QuizAttemptRepository attemptRepo;
+    private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${leaderboard.max-entries-per-quiz:1000}")
+    private int maxEntriesPerQuiz;
+
+    private record Entry(Long quizId, Long attemptId, Long userId, String username, int score, LocalDateTime completedAt, long revision) {
+    }
+
+    private static final class Board {
+        private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(RANKING);
+        private int size;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int loaded = 0;
+        for (QuizAttemptRepository.LeaderboardRow row : attemptRepo.findLeaderboards(maxEntriesPerQuiz)) {
+            Board board = boards.computeIfAbsent(row.getQuizId(), id -> new Board());
+            synchronized (board) {
+                if (!entries.containsKey(row.getAttemptId())) {
+                    replace(board, null, new Entry(row.getQuizId(), row.getAttemptId(), row.getUserId(), row.getUsername(), row.getScore(), row.getCompletedAt(), 0));
+                    loaded++;
+                }
+            }
+        }
+        log.info("[Leaderboard] Rebuilt leaderboards for {} quizzes with {} entries", boards.size(), loaded);
+    }
+
+    public void recordProgress(AttemptSession session, String username) {
+        AttemptSession.Progress progress = session.getProgress();
+        Board board = boards.computeIfAbsent(session.getQuizId(), id -> new Board());
+        synchronized (board) {
+            Entry current = entries.get(session.getAttemptId());
+            if (current != null && current.revision() > progress.revision()) {
+                return;
+            }
+            replace(board, current, new Entry(session.getQuizId(), session.getAttemptId(), session.getUserId(), username,
+                    progress.score(), current != null ? current.completedAt() : null, progress.revision()));
+        }
+    }
+
+    public void markCompleted(Long attemptId, LocalDateTime completedAt) {
+        Entry entry = entries.get(attemptId);
+        Board board = entry != null ? boards.get(entry.quizId()) : null;
+        if (board == null) {
+            return;
+        }
+        synchronized (board) {
+            Entry current = entries.get(attemptId);
+            if (current != null && current.completedAt() == null) {
+                replace(board, current, new Entry(current.quizId(), current.attemptId(), current.userId(), current.username(),
+                        current.score(), completedAt, current.revision()));
+            }
+        }
+    }
+
+    public void removeQuiz(Long quizId) {
+        Board board = boards.remove(quizId);
+        if (board != null) {
+            synchronized (board) {
+                board.ranking.forEach(entry -> entries.remove(entry.attemptId()));
+            }
+        }
+    }
+
+    public ResponseEntity<?> getLeaderboard(Long quizId, Integer top) {
+        Board board = boards.get(quizId);
+        if (board == null && !quizRepo.existsById(quizId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz not found");
+        }
+        int limit = Math.min(Math.max(top, 1), maxEntriesPerQuiz);
+        List<LeaderboardEntryDto> responses = new ArrayList<>(Math.min(limit, 100));
+        if (board != null) {
+            for (Entry entry : board.ranking) {
+                if (responses.size() == limit) break;
+                responses.add(new LeaderboardEntryDto(responses.size() + 1, entry.attemptId(), entry.userId(), entry.username(), entry.score(), entry.completedAt()));
+            }
+        }
+        log.info("[Get-Leaderboard] Top {} attempts for quiz {} fetched successfully", limit, quizId);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Leaderboard fetched successfully", responses), HttpStatus.OK);
+    }
+
+    private void replace(Board board, Entry current, Entry updated) {
+        if (current != null) {
+            board.ranking.remove(current);
+        } else {
+            board.size++;
+        }
+        board.ranking.add(updated);
+        entries.put(updated.attemptId(), updated);
+        while (board.size > maxEntriesPerQuiz) {
+            Entry evicted = board.ranking.pollLast();
+            entries.remove(evicted.attemptId());
+            board.size--;
+        }
+    }
+}
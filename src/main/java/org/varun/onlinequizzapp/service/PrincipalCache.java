@@ -0,0 +1,97 @@
+package org.varun.onlinequizzapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.varun.onlinequizzapp.repository.UserRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class PrincipalCache {
+    private final UserRepository userRepo;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PrincipalCache(UserRepository userRepo,
+                          @Value("${principal.cache.max-entries:10000}") int maxEntries,
+                          @Value("${principal.cache.ttl-ms:60000}") long ttlMillis,
+                          MeterRegistry meterRegistry) {
+        this.userRepo = userRepo;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PrincipalCache.this.maxEntries;
+            }
+        };
+        this.hits = Counter.builder("principal.cache.gets").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("principal.cache.gets").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("principal.cache.size", this, PrincipalCache::size).register(meterRegistry);
+    }
+
+    private record Entry(long expiresAt, AuthenticatedUser principal) {
+    }
+
+    public AuthenticatedUser get(String subject) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(subject);
+            if (entry != null && entry.expiresAt() > now) {
+                hits.increment();
+                return entry.principal();
+            }
+        }
+        misses.increment();
+        long loadedAt = generation.get();
+        AuthenticatedUser principal = userRepo.findByUsernameOrEmail(subject, subject)
+                .map(AuthenticatedUser::from)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with " + subject));
+        synchronized (entries) {
+            if (generation.get() == loadedAt) {
+                entries.put(subject, new Entry(now + ttlMillis, principal));
+            }
+        }
+        return principal;
+    }
+
+    public void invalidate(Long userId) {
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evict(Long userId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> entry.principal().id().equals(userId));
+        }
+        log.debug("[Principal-Cache] Invalidated principal for user {}", userId);
+    }
+}
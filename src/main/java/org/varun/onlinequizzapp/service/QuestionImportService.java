@@ -0,0 +1,259 @@
+package org.varun.onlinequizzapp.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.varun.onlinequizzapp.dto.ApiResponse;
+import org.varun.onlinequizzapp.dto.option.AddOptionDto;
+import org.varun.onlinequizzapp.dto.question.AddQuestionDto;
+import org.varun.onlinequizzapp.dto.question.ImportErrorDto;
+import org.varun.onlinequizzapp.dto.question.ImportReportDto;
+import org.varun.onlinequizzapp.model.Question;
+import org.varun.onlinequizzapp.model.QuestionOption;
+import org.varun.onlinequizzapp.model.Quiz;
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+import org.varun.onlinequizzapp.repository.QuizRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuestionImportService {
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder().enable(CsvParser.Feature.WRAP_AS_ARRAY).build();
+
+    private final QuizRepository quizRepo;
+    private final QuestionRepository questionRepo;
+    private final AnswerKeyCache answerKeyCache;
+    private final CatalogCache catalogCache;
+    private final SearchService searchService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${question.import.chunk-size:500}")
+    private int chunkSize;
+
+    private record Row(long number, AddQuestionDto question) {
+    }
+
+    private static final class Report {
+        private long processed;
+        private long imported;
+        private long rejected;
+        private final List<ImportErrorDto> errors = new ArrayList<>();
+
+        private void reject(long row, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportErrorDto(row, message));
+            }
+        }
+
+        private ImportReportDto toDto() {
+            return new ImportReportDto(processed, imported, rejected, errors);
+        }
+    }
+
+    public ResponseEntity<?> importQuestions(Long quizId, MediaType contentType, InputStream body) {
+        if (!quizRepo.existsById(quizId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz with id: " + quizId + " not found");
+        }
+        Report report = new Report();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        try {
+            if (contentType != null && TEXT_CSV.isCompatibleWith(contentType)) {
+                readCsv(quizId, body, report, chunk);
+            } else if (contentType == null || MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+                readJson(quizId, body, report, chunk);
+            } else {
+                throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Import accepts application/json or text/csv");
+            }
+            saveChunk(quizId, chunk, report);
+        } catch (IOException e) {
+            saveChunk(quizId, chunk, report);
+            log.warn("[Import-Questions] Import into quiz {} stopped after row {}: {}", quizId, report.processed, e.getMessage());
+            return new ResponseEntity<>(new ApiResponse<>(false, "Import stopped after row " + report.processed + ": malformed input", report.toDto()), HttpStatus.BAD_REQUEST);
+        }
+        log.info("[Import-Questions] Imported {} of {} questions into quiz {}", report.imported, report.processed, quizId);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Import completed", report.toDto()), HttpStatus.OK);
+    }
+
+    private void readJson(Long quizId, InputStream body, Report report, List<Row> chunk) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME && !"questions".equals(parser.currentName())) {
+                    parser.nextToken();
+                    parser.skipChildren();
+                }
+                token = parser.nextToken();
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected an array of questions");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                long row = ++report.processed;
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    accept(quizId, new Row(row, objectMapper.treeToValue(node, AddQuestionDto.class)), report, chunk);
+                } catch (JsonProcessingException e) {
+                    report.reject(row, "Invalid question: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private void readCsv(Long quizId, InputStream body, Report report, List<Row> chunk) throws IOException {
+        try (MappingIterator<String[]> rows = CSV_MAPPER.readerFor(String[].class).readValues(body)) {
+            boolean first = true;
+            while (rows.hasNextValue()) {
+                String[] cells = rows.nextValue();
+                if (first && cells.length > 0 && "title".equalsIgnoreCase(cells[0].trim())) {
+                    first = false;
+                    continue;
+                }
+                first = false;
+                long row = ++report.processed;
+                if (cells.length < 2) {
+                    report.reject(row, "Expected title, correct option number and options");
+                    continue;
+                }
+                int correct;
+                try {
+                    correct = Integer.parseInt(cells[1].trim());
+                } catch (NumberFormatException e) {
+                    report.reject(row, "Correct option must be a number");
+                    continue;
+                }
+                List<AddOptionDto> options = new ArrayList<>(cells.length - 2);
+                for (int i = 2; i < cells.length; i++) {
+                    if (!cells[i].isBlank()) {
+                        options.add(new AddOptionDto(cells[i], options.size() + 1 == correct));
+                    }
+                }
+                accept(quizId, new Row(row, new AddQuestionDto(cells[0], options)), report, chunk);
+            }
+        }
+    }
+
+    private void accept(Long quizId, Row row, Report report, List<Row> chunk) {
+        String error = validate(row.question());
+        if (error != null) {
+            report.reject(row.number(), error);
+            return;
+        }
+        chunk.add(row);
+        if (chunk.size() >= chunkSize) {
+            saveChunk(quizId, chunk, report);
+        }
+    }
+
+    private String validate(AddQuestionDto question) {
+        Set<ConstraintViolation<AddQuestionDto>> violations = validator.validate(question);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<AddQuestionDto> violation = violations.iterator().next();
+            return violation.getPropertyPath() + ":" + violation.getMessage();
+        }
+        if (question.title().isBlank()) {
+            return "title:Title is required for the question";
+        }
+        Set<String> texts = new HashSet<>();
+        int correct = 0;
+        for (AddOptionDto option : question.options()) {
+            if (option.optionText().isBlank()) {
+                return "options:Option cannot be empty";
+            }
+            if (!texts.add(option.optionText().trim().toLowerCase(Locale.ROOT))) {
+                return "options:Option already exist";
+            }
+            if (option.isCorrect()) correct++;
+        }
+        return correct == 1 ? null : "options:Exactly one option must be marked correct";
+    }
+
+    private void saveChunk(Long quizId, List<Row> chunk, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Row> duplicates = new ArrayList<>();
+        try {
+            long imported = new TransactionTemplate(transactionManager).execute(status -> {
+                duplicates.clear();
+                Set<String> titles = new HashSet<>();
+                for (Row row : chunk) {
+                    titles.add(row.question().title().trim().toLowerCase(Locale.ROOT));
+                }
+                Set<String> taken = new HashSet<>(questionRepo.findExistingTitles(quizId, titles));
+                Quiz quiz = quizRepo.getReferenceById(quizId);
+                List<Question> questions = new ArrayList<>(chunk.size());
+                for (Row row : chunk) {
+                    if (!taken.add(row.question().title().trim().toLowerCase(Locale.ROOT))) {
+                        duplicates.add(row);
+                        continue;
+                    }
+                    questions.add(mapToQuestion(quiz, row.question()));
+                }
+                questionRepo.saveAll(questions);
+                questions.forEach(searchService::indexQuestion);
+                answerKeyCache.invalidate(quizId);
+                catalogCache.invalidate(CatalogCache.QUESTIONS, CatalogCache.quiz(quizId));
+                return (long) questions.size();
+            });
+            report.imported += imported;
+            for (Row row : duplicates) {
+                report.reject(row.number(), "Question with the title already exists in the quiz");
+            }
+        } catch (DataAccessException e) {
+            log.warn("[Import-Questions] Chunk of {} questions for quiz {} failed: {}", chunk.size(), quizId, e.getMostSpecificCause().getMessage());
+            for (Row row : chunk) {
+                report.reject(row.number(), "Question could not be saved");
+            }
+        }
+        log.info("[Import-Questions] Quiz {}: {} rows processed, {} imported, {} rejected", quizId, report.processed, report.imported, report.rejected);
+        chunk.clear();
+    }
+
+    private Question mapToQuestion(Quiz quiz, AddQuestionDto input) {
+        List<QuestionOption> options = new ArrayList<>(input.options().size());
+        Question question = Question.builder()
+                .title(input.title().trim())
+                .quiz(quiz)
+                .questionOptions(options)
+                .build();
+        for (AddOptionDto option : input.options()) {
+            options.add(QuestionOption.builder()
+                    .optionText(option.optionText().trim())
+                    .isCorrect(option.isCorrect())
+                    .question(question)
+                    .build());
+        }
+        return question;
+    }
+}
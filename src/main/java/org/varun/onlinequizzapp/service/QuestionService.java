@@ -3,12 +3,15 @@ package org.varun.onlinequizzapp.service;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.varun.onlinequizzapp.dto.ApiResponse;
+import org.varun.onlinequizzapp.dto.PageResponseDto;
 import org.varun.onlinequizzapp.dto.option.AddOptionDto;
 import org.varun.onlinequizzapp.dto.option.UpdateOptionDto;
 import org.varun.onlinequizzapp.dto.question.AddQuestionDto;
@@ -20,6 +23,7 @@ import org.varun.onlinequizzapp.model.QuestionOption;
 import org.varun.onlinequizzapp.model.Quiz;
 import org.varun.onlinequizzapp.repository.QuestionOptionRepository;
 import org.varun.onlinequizzapp.repository.QuestionRepository;
+import org.varun.onlinequizzapp.repository.QuizAttemptRepository;
 import org.varun.onlinequizzapp.repository.QuizRepository;
 
 import java.util.List;
@@ -32,20 +36,35 @@ public class QuestionService {
     private final QuestionRepository questionRepo;
     private final QuizRepository quizRepo;
     private final QuestionOptionRepository optionRepo;
+    private final AnswerKeyCache answerKeyCache;
+    private final CatalogCache catalogCache;
+    private final EncodedResponseCache encodedResponses;
+    private final SearchService searchService;
+    private final QuizAttemptRepository attemptRepo;
+    private final AttemptSessionStore sessionStore;
 
     @Transactional
-    public ResponseEntity<?> getAllQuestions() {
-        List<Question> questions = questionRepo.findAll();
-        List<QuestionResponseDto> responses = questions.stream().map(this::mapToResponseDto).toList();
-        log.info("[Get-Questions] All questions fetched successfully");
-        return new ResponseEntity<>(new ApiResponse<>(true, "All questions fetched successfully", responses), HttpStatus.OK);
+    public ResponseEntity<?> getAllQuestions(Long quizId, String cursor, Integer size, WebRequest request) {
+        int pageSize = IdCursor.pageSize(size);
+        long afterId = IdCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        List<String> tags = List.of(CatalogCache.QUESTIONS);
+        String key = "questions:" + quizId + ":" + afterId + ":" + pageSize;
+        ResponseEntity<?> response = encodedResponses.respond(key, catalogCache.etag(tags), request, () -> {
+            PageResponseDto<QuestionResponseDto> page = catalogCache.get(key, tags,
+                    () -> IdCursor.page(quizId != null
+                            ? questionRepo.findByQuizIdAndIdGreaterThanOrderByIdAsc(quizId, afterId, limit)
+                            : questionRepo.findByIdGreaterThanOrderByIdAsc(afterId, limit), pageSize, Question::getId, this::mapToResponseDto));
+            return new ApiResponse<>(true, "All questions fetched successfully", page);
+        });
+        log.info("[Get-Questions] Questions page fetched successfully");
+        return response;
     }
 
     @Transactional
     public ResponseEntity<?> addQuestion(Long id, @Valid AddQuestionDto input) {
         Quiz quiz = quizRepo.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz with id: " + id + " not found"));
-        Optional<Question> existingQuestion = questionRepo.findByTitleIgnoreCase(input.title().trim());
-        if (existingQuestion.isPresent() && existingQuestion.get().getQuiz().getId().equals(id)) {
+        if (questionRepo.findIdByQuizIdAndTitle(id, input.title().trim()).isPresent()) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Question with the title already exists in the quiz");
         }
 
@@ -55,6 +74,9 @@ public class QuestionService {
                 .build();
 
         questionRepo.save(newQuestion);
+        answerKeyCache.invalidate(id);
+        catalogCache.invalidate(CatalogCache.QUESTIONS, CatalogCache.quiz(id));
+        searchService.indexQuestion(newQuestion);
         log.info("[Add-Question] Successfully added question to quiz with id {}", id);
         return new ResponseEntity<>(new ApiResponse<>(true, "Question Added successfully"), HttpStatus.CREATED);
     }
@@ -63,28 +85,42 @@ public class QuestionService {
     public ResponseEntity<?> updateQuestion(Long id, @Valid UpdateQuestionDto input) {
         Question question = questionRepo.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Question with id: " + id + ", not found"));
         String newTitle = input.title().trim();
-        Optional<Question> existingQuestion = questionRepo.findByTitleIgnoreCase(newTitle);
-        if (existingQuestion.isPresent() && !existingQuestion.get().getId().equals(question.getId()) && existingQuestion.get().getQuiz().getId().equals(question.getQuiz().getId())) {
+        Optional<Long> existingQuestion = questionRepo.findIdByQuizIdAndTitle(question.getQuiz().getId(), newTitle);
+        if (existingQuestion.isPresent() && !existingQuestion.get().equals(question.getId())) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Question already exists in the quiz");
         }
 
         question.setTitle(newTitle);
         questionRepo.save(question);
+        answerKeyCache.invalidate(question.getQuiz().getId());
+        catalogCache.invalidate(CatalogCache.QUESTIONS, CatalogCache.quiz(question.getQuiz().getId()));
+        searchService.indexQuestion(question);
         log.info("[Update-Question] Question with id {}, updated successfully", id);
         return new ResponseEntity<>(new ApiResponse<>(true, "Question Updated successfully"), HttpStatus.OK);
     }
 
-    public ResponseEntity<?> getQuestionWithId(Long id) {
-        Question question = questionRepo.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Question not found"));
-        QuestionResponseDto response = mapToResponseDto(question);
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getQuestionWithId(Long id, WebRequest request) {
+        Long version = questionRepo.findVersionById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Question not found"));
+        ResponseEntity<?> response = encodedResponses.respond("question:" + id, HttpCaching.etag("question", id, version), request, () -> {
+            Question question = questionRepo.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Question not found"));
+            return new ApiResponse<>(true, "Question fetched successfully", mapToResponseDto(question));
+        });
         log.info("[Get-Question] Quiz with id {}, fetched successfully", id);
-        return new ResponseEntity<>(new ApiResponse<>(true, "Question fetched successfully", response), HttpStatus.OK);
+        return response;
     }
 
+    @Transactional
     public ResponseEntity<?> deleteQuestion(Long id) {
         Question question = questionRepo.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Question with id: " + id + " not found"));
         questionRepo.delete(question);
-        log.info("[Delete-Question] Question with id {}, deleted successfully", id);
+        questionRepo.flush();
+        attemptRepo.recountActiveProgress(question.getQuiz().getId());
+        int discarded = sessionStore.discardQuestion(question.getQuiz().getId(), id);
+        answerKeyCache.invalidate(question.getQuiz().getId());
+        catalogCache.invalidate(CatalogCache.QUESTIONS, CatalogCache.quiz(question.getQuiz().getId()));
+        searchService.remove(SearchIndex.DocType.QUESTION, id);
+        log.info("[Delete-Question] Question with id {}, deleted successfully, {} in-progress answers discarded", id, discarded);
         return new ResponseEntity<>(new ApiResponse<>(true, "Question deleted successfully"), HttpStatus.OK);
     }
 
@@ -98,8 +134,7 @@ public class QuestionService {
                 throw new ResponseStatusException(HttpStatus.CONFLICT, "Question already has a correct option");
             }
         }
-        Optional<QuestionOption> existingOption = optionRepo.findByOptionTextIgnoreCase(input.optionText().trim());
-        if (existingOption.isPresent() && existingOption.get().getQuestion().getId().equals(id)) {
+        if (optionRepo.findIdByQuestionIdAndOptionText(id, input.optionText().trim()).isPresent()) {
             log.warn("[Add-Option] Option already exists in the question with id {}", id);
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Option already exist");
         }
@@ -109,6 +144,9 @@ public class QuestionService {
                 .question(question)
                 .build();
         optionRepo.save(newOption);
+        questionRepo.incrementVersion(id);
+        answerKeyCache.invalidate(question.getQuiz().getId());
+        catalogCache.invalidate(CatalogCache.QUESTIONS, CatalogCache.quiz(question.getQuiz().getId()));
         log.info("[Add-Option] Option added to the question with id {}", id);
         return new ResponseEntity<>(new ApiResponse<>(true, "Option created successfully"), HttpStatus.CREATED);
     }
@@ -116,9 +154,9 @@ public class QuestionService {
     @Transactional
     public ResponseEntity<?> updateOption(Long id, @Valid UpdateOptionDto input) {
         QuestionOption option = optionRepo.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Option with id: " + id + " not found"));
-        Optional<QuestionOption> existingOption = optionRepo.findByOptionTextIgnoreCase(input.optionText().trim());
+        Optional<Long> existingOption = optionRepo.findIdByQuestionIdAndOptionText(option.getQuestion().getId(), input.optionText().trim());
 
-        if (existingOption.isPresent() && !existingOption.get().getId().equals(option.getId()) && existingOption.get().getQuestion().getId().equals(option.getQuestion().getId())) {
+        if (existingOption.isPresent() && !existingOption.get().equals(option.getId())) {
             log.warn("[Update-Option] Option with id {}, already exists with the name", id);
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Option already exists with the text");
         }
@@ -132,6 +170,9 @@ public class QuestionService {
         }
         option.setOptionText(input.optionText().trim());
         option.setIsCorrect(input.isCorrect());
+        questionRepo.incrementVersion(option.getQuestion().getId());
+        answerKeyCache.invalidate(option.getQuestion().getQuiz().getId());
+        catalogCache.invalidate(CatalogCache.QUESTIONS, CatalogCache.quiz(option.getQuestion().getQuiz().getId()));
         log.info("[Update-Option] Option with id {}, updated successfully", id);
         return new ResponseEntity<>(new ApiResponse<>(true, "Option Updated Successfully"), HttpStatus.OK);
     }
@@ -148,7 +189,12 @@ public class QuestionService {
             }
         }
         optionRepo.delete(option);
-        log.info("[Delete-Option] Option with id {}, deleted successfully", id);
+        optionRepo.flush();
+        int discarded = sessionStore.discardOption(option.getQuestion().getQuiz().getId(), id);
+        questionRepo.incrementVersion(option.getQuestion().getId());
+        answerKeyCache.invalidate(option.getQuestion().getQuiz().getId());
+        catalogCache.invalidate(CatalogCache.QUESTIONS, CatalogCache.quiz(option.getQuestion().getQuiz().getId()));
+        log.info("[Delete-Option] Option with id {}, deleted successfully, {} in-progress answers discarded", id, discarded);
         return new ResponseEntity<>(new ApiResponse<>(true, "Option deleted successfully"), HttpStatus.OK);
     }
 
@@ -0,0 +1,145 @@
+package org.varun.onlinequizzapp.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.varun.onlinequizzapp.dto.ApiResponse;
+import org.varun.onlinequizzapp.dto.question.OptionStatsDto;
+import org.varun.onlinequizzapp.dto.question.QuestionStatsDto;
+import org.varun.onlinequizzapp.model.OptionStat;
+import org.varun.onlinequizzapp.model.QuestionOption;
+import org.varun.onlinequizzapp.model.QuestionStat;
+import org.varun.onlinequizzapp.repository.OptionStatRepository;
+import org.varun.onlinequizzapp.repository.QuestionOptionRepository;
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+import org.varun.onlinequizzapp.repository.QuestionStatRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class QuestionStatsService {
+    private final QuestionRepository questionRepo;
+    private final QuestionOptionRepository optionRepo;
+    private final QuestionStatRepository questionStatRepo;
+    private final OptionStatRepository optionStatRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Counters> pending = new ConcurrentHashMap<>();
+
+    public QuestionStatsService(QuestionRepository questionRepo,
+                                QuestionOptionRepository optionRepo,
+                                QuestionStatRepository questionStatRepo,
+                                OptionStatRepository optionStatRepo,
+                                PlatformTransactionManager transactionManager) {
+        this.questionRepo = questionRepo;
+        this.optionRepo = optionRepo;
+        this.questionStatRepo = questionStatRepo;
+        this.optionStatRepo = optionStatRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private static final class Counters {
+        private final LongAdder answered = new LongAdder();
+        private final LongAdder correct = new LongAdder();
+        private final Map<Long, LongAdder> selections = new ConcurrentHashMap<>();
+
+        private LongAdder selection(Long optionId) {
+            return selections.computeIfAbsent(optionId, id -> new LongAdder());
+        }
+    }
+
+    public void recordAnswer(Long questionId, AttemptSession.AnswerState previous, Long optionId, boolean correct) {
+        Counters counters = pending.computeIfAbsent(questionId, id -> new Counters());
+        if (previous == null) {
+            counters.answered.increment();
+        } else {
+            if (previous.optionId() != null) counters.selection(previous.optionId()).decrement();
+            if (previous.correct()) counters.correct.decrement();
+        }
+        counters.selection(optionId).increment();
+        if (correct) counters.correct.increment();
+    }
+
+    public void revertAnswer(Long questionId, AttemptSession.AnswerState discarded, AttemptSession.AnswerState restored) {
+        Counters counters = pending.computeIfAbsent(questionId, id -> new Counters());
+        if (discarded.optionId() != null) counters.selection(discarded.optionId()).decrement();
+        if (discarded.correct()) counters.correct.decrement();
+        if (restored == null) {
+            counters.answered.decrement();
+        } else {
+            if (restored.optionId() != null) counters.selection(restored.optionId()).increment();
+            if (restored.correct()) counters.correct.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${question.stats.flush-interval-ms:5000}")
+    public void flush() {
+        for (Map.Entry<Long, Counters> entry : pending.entrySet()) {
+            Long questionId = entry.getKey();
+            Counters counters = entry.getValue();
+            long answered = counters.answered.sum();
+            long correct = counters.correct.sum();
+            Map<Long, Long> selections = new ConcurrentHashMap<>();
+            counters.selections.forEach((optionId, adder) -> {
+                long selected = adder.sum();
+                if (selected != 0) selections.put(optionId, selected);
+            });
+            if (answered == 0 && correct == 0 && selections.isEmpty()) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    questionStatRepo.increment(questionId, answered, correct);
+                    selections.forEach((optionId, selected) -> optionStatRepo.increment(optionId, questionId, selected));
+                });
+            } catch (RuntimeException e) {
+                log.error("[Question-Stats] Failed to flush statistics for question {}: {}", questionId, e.getMessage());
+                continue;
+            }
+            counters.answered.add(-answered);
+            counters.correct.add(-correct);
+            selections.forEach((optionId, selected) -> counters.selection(optionId).add(-selected));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public ResponseEntity<?> getQuestionStats(Long id) {
+        if (!questionRepo.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Question with id: " + id + " not found");
+        }
+        Counters counters = pending.get(id);
+        QuestionStat stat = questionStatRepo.findById(id).orElse(null);
+        long answered = (stat != null ? stat.getAnsweredCount() : 0) + (counters != null ? counters.answered.sum() : 0);
+        long correct = (stat != null ? stat.getCorrectCount() : 0) + (counters != null ? counters.correct.sum() : 0);
+
+        Map<Long, OptionStat> optionStats = optionStatRepo.findByQuestionId(id).stream()
+                .collect(Collectors.toMap(OptionStat::getOptionId, Function.identity()));
+        List<OptionStatsDto> options = new ArrayList<>();
+        for (QuestionOption option : optionRepo.findByQuestionIdOrderById(id)) {
+            OptionStat optionStat = optionStats.get(option.getId());
+            LongAdder pendingSelections = counters != null ? counters.selections.get(option.getId()) : null;
+            long selected = (optionStat != null ? optionStat.getSelectedCount() : 0) + (pendingSelections != null ? pendingSelections.sum() : 0);
+            options.add(new OptionStatsDto(option.getId(), option.getOptionText(), option.getIsCorrect(), selected));
+        }
+
+        QuestionStatsDto response = new QuestionStatsDto(id, answered, correct, answered == 0 ? null : (double) correct / answered, options);
+        log.info("[Get-QuestionStats] Statistics for question with id {}, fetched successfully", id);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Question statistics fetched successfully", response), HttpStatus.OK);
+    }
+}
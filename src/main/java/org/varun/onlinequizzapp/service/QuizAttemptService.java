@@ -3,6 +3,8 @@ package org.varun.onlinequizzapp.service;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -11,16 +13,21 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import org.varun.onlinequizzapp.dto.ApiResponse;
+import org.varun.onlinequizzapp.dto.PageResponseDto;
 import org.varun.onlinequizzapp.dto.quizAttempt.AnswerFeedbackDto;
 import org.varun.onlinequizzapp.dto.quizAttempt.QuizAttemptResponseDto;
 import org.varun.onlinequizzapp.dto.quizAttempt.SubmitAnswerDto;
+import org.varun.onlinequizzapp.dto.quizAttempt.SubmitAnswersDto;
 import org.varun.onlinequizzapp.dto.userAnswers.UserAnswersResponseDto;
 import org.varun.onlinequizzapp.model.*;
 import org.varun.onlinequizzapp.repository.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -31,120 +38,204 @@ public class QuizAttemptService {
     private final UserRepository userRepo;
     private final QuestionRepository questionRepo;
     private final QuestionOptionRepository optionRepo;
+    private final AttemptSessionStore sessionStore;
+    private final AnswerKeyCache answerKeyCache;
+    private final AttemptExpiryService expiryService;
     private final UserAnswerRepository userAnswerRepo;
+    private final LeaderboardService leaderboardService;
+    private final QuestionStatsService questionStatsService;
+    private final AnswerJournal answerJournal;
 
-    @Transactional
-    public ResponseEntity<?> getAttemptsFromQuizAndUserId(Long quizId) {
-        User user = getCurrentUser();
-        quizRepo.findById(quizId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz not found"));
-        List<QuizAttempt> attempts = user.getQuizAttempts();
-        List<QuizAttemptResponseDto> responses = attempts.stream().filter(attempt -> attempt.getQuiz().getId().equals(quizId)).map(this::mapToResponseDto).toList();
+    private record AttemptPosition(LocalDateTime startedAt, long id) {
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getAttemptsFromQuizAndUserId(Long quizId, String cursor, Integer size) {
+        AuthenticatedUser user = getCurrentUser();
+        if (!quizRepo.existsById(quizId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz not found");
+        }
+        int pageSize = IdCursor.pageSize(size);
+        sessionStore.flushUserSessions(user.id());
+
+        List<QuizAttemptRepository.AttemptSummary> attempts;
+        if (cursor == null || cursor.isBlank()) {
+            attempts = attemptRepo.findAttemptPage(user.id(), quizId, Limit.of(pageSize + 1));
+        } else {
+            AttemptPosition position = IdCursor.decode(cursor, 2, parts -> new AttemptPosition(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1])));
+            attempts = attemptRepo.findAttemptPageAfter(user.id(), quizId, position.startedAt(), position.id(), Limit.of(pageSize + 1));
+        }
+        boolean hasMore = attempts.size() > pageSize;
+        if (hasMore) {
+            attempts = attempts.subList(0, pageSize);
+        }
+
+        Map<Long, List<UserAnswersResponseDto>> answers = attempts.isEmpty() ? Map.of() :
+                userAnswerRepo.findSummariesByAttemptIds(attempts.stream().map(QuizAttemptRepository.AttemptSummary::getId).toList())
+                        .stream()
+                        .collect(Collectors.groupingBy(UserAnswerRepository.AnswerSummary::getAttemptId,
+                                Collectors.mapping(answer -> new UserAnswersResponseDto(answer.getId(), answer.getIsCorrect(), answer.getAnsweredAt()), Collectors.toList())));
+
+        List<QuizAttemptResponseDto> responses = attempts.stream().map(attempt -> mapToResponseDto(attempt, answers.getOrDefault(attempt.getId(), List.of()))).toList();
+        String nextCursor = null;
+        if (hasMore) {
+            QuizAttemptRepository.AttemptSummary last = attempts.get(attempts.size() - 1);
+            nextCursor = IdCursor.encode(last.getStartedAt(), last.getId());
+        }
         log.info("[Get-Attempts] Quiz attempts associated with quiz id {}, fetched successfully", quizId);
-        return new ResponseEntity<>(new ApiResponse<>(true, "Quiz attempts fetched successfully", responses), HttpStatus.OK);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Quiz attempts fetched successfully", new PageResponseDto<>(responses, pageSize, nextCursor)), HttpStatus.OK);
     }
 
     @Transactional
     public ResponseEntity<?> addAttempt(Long quizId) {
-        User user = getCurrentUser();
+        AuthenticatedUser user = getCurrentUser();
         Quiz quiz = quizRepo.findById(quizId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz not found"));
-        List<QuizAttempt> userAttempts = user.getQuizAttempts().stream().filter(attempt -> attempt.getQuiz().getId().equals(quizId)).toList();
-        boolean incompleteAttempt = userAttempts.stream().anyMatch(attempt -> !attempt.getIsCompleted());
-        if (incompleteAttempt) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ypu have an incomplete attempt for the quiz");
+        Optional<QuizAttemptRepository.PendingExpiry> activeAttempt = attemptRepo.findActiveAttempt(user.id(), quizId);
+        if (activeAttempt.isPresent()) {
+            QuizAttemptRepository.PendingExpiry active = activeAttempt.get();
+            if (System.currentTimeMillis() < AttemptExpiryService.deadlineMillis(active.getStartedAt(), active.getTimeLimitMinutes())) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "You have an incomplete attempt for the quiz");
+            }
+            LocalDateTime completedAt = LocalDateTime.now();
+            sessionStore.complete(active.getId());
+            attemptRepo.completeAttempts(List.of(active.getId()), completedAt);
+            leaderboardService.markCompleted(active.getId(), completedAt);
         }
 
         QuizAttempt newAttempt = QuizAttempt.builder()
-                .user(user)
+                .user(userRepo.getReferenceById(user.id()))
                 .quiz(quiz)
                 .score(0)
-                .totalQuestions(quiz.getQuestions().size())
+                .totalQuestions(answerKeyCache.get(quizId).questionCount())
                 .attemptedQuestions(0)
                 .startedAt(LocalDateTime.now())
                 .isCompleted(false)
                 .build();
-        attemptRepo.save(newAttempt);
-        log.info("[Add-QuizAttempt] Successfully created attempt for quizId {} with userId {}", quiz.getId(), user.getId());
+        try {
+            attemptRepo.saveAndFlush(newAttempt);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "You have an incomplete attempt for the quiz");
+        }
+        expiryService.schedule(newAttempt.getId(), quizId, newAttempt.getStartedAt(), quiz.getTimeLimitMinutes());
+        log.info("[Add-QuizAttempt] Successfully created attempt for quizId {} with userId {}", quiz.getId(), user.id());
         return new ResponseEntity<>(new ApiResponse<>(true, "Successfully created the quiz attempt"), HttpStatus.CREATED);
     }
 
     public ResponseEntity<?> submitAnswer(Long attemptId, @Valid SubmitAnswerDto input) {
-        User user = getCurrentUser();
-        QuizAttempt attempt = attemptRepo.findById(attemptId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Attempt not found"));
+        AuthenticatedUser user = getCurrentUser();
+        AttemptSession session = getAnswerableSession(attemptId, user);
+        AnswerKey answerKey = answerKeyCache.get(session.getQuizId());
+
+        int[] indexes = resolveAnswer(answerKey, input);
+        boolean isCorrect = answerKey.isCorrect(indexes[1]);
+        answerJournal.append(attemptId, input.questionId(), input.selectedOptionId(), isCorrect);
+        AttemptSession.AnswerState previous = sessionStore.recordAnswer(session, input.questionId(), input.selectedOptionId(), isCorrect);
+        questionStatsService.recordAnswer(input.questionId(), previous, input.selectedOptionId(), isCorrect);
+        leaderboardService.recordProgress(session, user.username());
+        AnswerFeedbackDto feedback = mapToFeedbackDto(answerKey, input, indexes[0], indexes[1]);
 
-        if (!attempt.getUser().getId().equals(user.getId()))
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized access to quiz attempt");
-        if (attempt.getIsCompleted())
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Quiz already completed");
-
-        Question question = questionRepo.findById(input.questionId()).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Question nor found"));
-        if (!question.getQuiz().getId().equals(attempt.getQuiz().getId()))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Question doesn't belong to the current quiz");
+        log.info("[Submit-Answer] User {} submitted answer for question {} in attempt {}",
+                user.id(), input.questionId(), attemptId);
 
-        QuestionOption option = optionRepo.findById(input.selectedOptionId()).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Selected option not found"));
+        return new ResponseEntity<>(
+                new ApiResponse<>(true, "Answer submitted successfully", feedback),
+                HttpStatus.OK
+        );
+    }
 
-        if (!option.getQuestion().getId().equals(question.getId()))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Selected option doesn't belong to the question");
+    public ResponseEntity<?> submitAnswers(Long attemptId, @Valid SubmitAnswersDto input) {
+        AuthenticatedUser user = getCurrentUser();
+        AttemptSession session = getAnswerableSession(attemptId, user);
+        AnswerKey answerKey = answerKeyCache.get(session.getQuizId());
+
+        List<AttemptSession.SubmittedAnswer> answers = new ArrayList<>(input.answers().size());
+        List<AnswerFeedbackDto> feedback = new ArrayList<>(input.answers().size());
+        for (SubmitAnswerDto answer : input.answers()) {
+            int[] indexes = resolveAnswer(answerKey, answer);
+            answers.add(new AttemptSession.SubmittedAnswer(answer.questionId(), answer.selectedOptionId(), answerKey.isCorrect(indexes[1])));
+            feedback.add(mapToFeedbackDto(answerKey, answer, indexes[0], indexes[1]));
+        }
+        for (AttemptSession.SubmittedAnswer answer : answers) {
+            answerJournal.append(attemptId, answer.questionId(), answer.optionId(), answer.correct());
+        }
+        List<AttemptSession.AnswerState> previous = sessionStore.recordAnswers(session, answers);
+        for (int i = 0; i < answers.size(); i++) {
+            AttemptSession.SubmittedAnswer answer = answers.get(i);
+            questionStatsService.recordAnswer(answer.questionId(), previous.get(i), answer.optionId(), answer.correct());
+        }
+        leaderboardService.recordProgress(session, user.username());
 
-        Optional<UserAnswer> existingAnswer = userAnswerRepo.findByQuizAttemptIdAndQuestionId(attemptId, input.questionId());
+        log.info("[Submit-Answers] User {} submitted {} answers in attempt {}", user.id(), answers.size(), attemptId);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Answers submitted successfully", feedback), HttpStatus.OK);
+    }
 
-        UserAnswer userAnswer;
-        if (existingAnswer.isPresent()) {
-            userAnswer = existingAnswer.get();
+    public ResponseEntity<?> finishAttempt(Long attemptId) {
+        AuthenticatedUser user = getCurrentUser();
+        AttemptSession session = getActiveSession(attemptId, user);
+        LocalDateTime completedAt = LocalDateTime.now();
+        sessionStore.complete(attemptId);
+        attemptRepo.completeAttempts(List.of(attemptId), completedAt);
+        leaderboardService.markCompleted(attemptId, completedAt);
+        log.info("[Finish-Attempt] User {} completed attempt {} with score {}", user.id(), attemptId, session.getScore());
+        return new ResponseEntity<>(new ApiResponse<>(true, "Quiz attempt completed with score " + session.getScore()), HttpStatus.OK);
+    }
 
-            if (userAnswer.getIsCorrect() && !option.getIsCorrect()) {
-                attempt.setScore(attempt.getScore() - 1);
-            } else if (!userAnswer.getIsCorrect() && option.getIsCorrect()) {
-                attempt.setScore(attempt.getScore() + 1);
-            }
+    private AttemptSession getActiveSession(Long attemptId, AuthenticatedUser user) {
+        AttemptSession session = sessionStore.getSession(attemptId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Attempt not found"));
 
-            userAnswer.setSelectedOption(option);
-            userAnswer.setIsCorrect(option.getIsCorrect());
-            userAnswer.setAnsweredAt(LocalDateTime.now());
-        } else {
-            userAnswer = UserAnswer.builder()
-                    .quizAttempt(attempt)
-                    .question(question)
-                    .selectedOption(option)
-                    .isCorrect(option.getIsCorrect())
-                    .answeredAt(LocalDateTime.now())
-                    .build();
-
-            attempt.setAttemptedQuestions(attempt.getAttemptedQuestions() + 1);
-            if (option.getIsCorrect()) {
-                attempt.setScore(attempt.getScore() + 1);
-            }
-        }
-        UserAnswer savedAnswer = userAnswerRepo.save(userAnswer);
-        attemptRepo.save(attempt);
+        if (!session.getUserId().equals(user.id()))
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized access to quiz attempt");
+        if (session.isCompleted())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Quiz already completed");
+        return session;
+    }
 
-        QuestionOption correctOption = question.getQuestionOptions().stream()
-                .filter(QuestionOption::getIsCorrect)
-                .findFirst()
-                .orElse(null);
+    private AttemptSession getAnswerableSession(Long attemptId, AuthenticatedUser user) {
+        AttemptSession session = getActiveSession(attemptId, user);
+        if (session.isExpired(System.currentTimeMillis()))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Time limit for the quiz is over");
+        return session;
+    }
 
-        assert correctOption != null;
-        AnswerFeedbackDto feedback = new AnswerFeedbackDto(
-                question.getId(), question.getTitle(),option.getId(),option.getOptionText(),savedAnswer.getIsCorrect(),correctOption.getId(),correctOption.getOptionText()
-        );
+    private int[] resolveAnswer(AnswerKey answerKey, SubmitAnswerDto input) {
+        int questionIndex = answerKey.questionIndex(input.questionId());
+        if (questionIndex < 0) {
+            if (!questionRepo.existsById(input.questionId()))
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Question nor found");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Question doesn't belong to the current quiz");
+        }
 
-        log.info("[Submit-Answer] User {} submitted answer for question {} in attempt {}",
-                user.getId(), question.getId(), attemptId);
+        int optionIndex = answerKey.optionIndex(questionIndex, input.selectedOptionId());
+        if (optionIndex < 0) {
+            if (!optionRepo.existsById(input.selectedOptionId()))
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Selected option not found");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Selected option doesn't belong to the question");
+        }
+        return new int[]{questionIndex, optionIndex};
+    }
 
-        return new ResponseEntity<>(
-                new ApiResponse<>(true, "Answer submitted successfully", feedback),
-                HttpStatus.OK
+    private AnswerFeedbackDto mapToFeedbackDto(AnswerKey answerKey, SubmitAnswerDto input, int questionIndex, int optionIndex) {
+        int correctIndex = answerKey.correctOptionIndex(questionIndex);
+        return new AnswerFeedbackDto(
+                input.questionId(),
+                answerKey.questionTitle(questionIndex),
+                input.selectedOptionId(),
+                answerKey.optionText(optionIndex),
+                answerKey.isCorrect(optionIndex),
+                correctIndex < 0 ? null : answerKey.optionId(correctIndex),
+                correctIndex < 0 ? null : answerKey.optionText(correctIndex)
         );
     }
 
-    private User getCurrentUser() {
+    private AuthenticatedUser getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof User currentUser) {
-            return userRepo.findById(currentUser.getId()).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser currentUser) {
+            return currentUser;
         }
         throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
     }
 
-    private QuizAttemptResponseDto mapToResponseDto(QuizAttempt attempt) {
+    private QuizAttemptResponseDto mapToResponseDto(QuizAttemptRepository.AttemptSummary attempt, List<UserAnswersResponseDto> answers) {
         return new QuizAttemptResponseDto(
                 attempt.getId(),
                 attempt.getScore(),
@@ -152,8 +243,6 @@ public class QuizAttemptService {
                 attempt.getStartedAt(),
                 attempt.getCompletedAt(),
                 attempt.getIsCompleted(),
-                attempt.getUserAnswers().stream().map(answer -> new UserAnswersResponseDto(answer.getId(),
-                        answer.getIsCorrect(),
-                        answer.getAnsweredAt())).toList());
+                answers);
     }
 }
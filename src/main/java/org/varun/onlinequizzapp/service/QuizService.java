@@ -3,20 +3,29 @@ package org.varun.onlinequizzapp.service;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.varun.onlinequizzapp.dto.ApiResponse;
+import org.varun.onlinequizzapp.dto.PageResponseDto;
 import org.varun.onlinequizzapp.dto.quiz.AddQuizDto;
+import org.varun.onlinequizzapp.dto.quiz.PlayBundleDto;
+import org.varun.onlinequizzapp.dto.quiz.PlayOptionDto;
+import org.varun.onlinequizzapp.dto.quiz.PlayQuestionDto;
 import org.varun.onlinequizzapp.dto.quiz.QuizResponseDto;
 import org.varun.onlinequizzapp.dto.quiz.UpdateQuizDto;
 import org.varun.onlinequizzapp.model.Quiz;
 import org.varun.onlinequizzapp.model.Topic;
+import org.varun.onlinequizzapp.model.type.Difficulty;
 import org.varun.onlinequizzapp.repository.QuizRepository;
 import org.varun.onlinequizzapp.repository.TopicRepository;
 
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -25,13 +34,39 @@ import java.util.List;
 public class QuizService {
     private final QuizRepository quizRepo;
     private final TopicRepository topicRepo;
+    private final AnswerKeyCache answerKeyCache;
+    private final LeaderboardService leaderboardService;
+    private final CatalogCache catalogCache;
+    private final EncodedResponseCache encodedResponses;
+    private final SearchService searchService;
+    private final AttemptExpiryService expiryService;
 
     @Transactional(readOnly = true)
-    public ResponseEntity<?> getAllQuizzes() {
-        List<Quiz> quizzes = quizRepo.findAll();
-        List<QuizResponseDto> responses = quizzes.stream().map(this::mapToResponseDto).toList();
-        log.info("[Get-Quizzes] All quizzes fetched successfully");
-        return new ResponseEntity<>(new ApiResponse<>(true, "All quizzes fetched successfully", responses), HttpStatus.OK);
+    public ResponseEntity<?> getAllQuizzes(Long topicId, Difficulty difficulty, String cursor, Integer size, WebRequest request) {
+        int pageSize = IdCursor.pageSize(size);
+        long afterId = IdCursor.decode(cursor);
+        String key = "quizzes:" + topicId + ":" + difficulty + ":" + afterId + ":" + pageSize;
+        List<String> tags = List.of(CatalogCache.TOPICS, CatalogCache.QUIZZES);
+        ResponseEntity<?> response = encodedResponses.respond(key, catalogCache.etag(tags), request, () -> {
+            PageResponseDto<QuizResponseDto> page = catalogCache.get(key, tags,
+                    () -> IdCursor.page(findQuizPage(topicId, difficulty, afterId, Limit.of(pageSize + 1)), pageSize, Quiz::getId, this::mapToResponseDto));
+            return new ApiResponse<>(true, "All quizzes fetched successfully", page);
+        });
+        log.info("[Get-Quizzes] Quizzes page fetched successfully");
+        return response;
+    }
+
+    private List<Quiz> findQuizPage(Long topicId, Difficulty difficulty, long afterId, Limit limit) {
+        if (topicId != null && difficulty != null) {
+            return quizRepo.findByTopicIdAndDifficultyLevelAndIdGreaterThanOrderByIdAsc(topicId, difficulty, afterId, limit);
+        }
+        if (topicId != null) {
+            return quizRepo.findByTopicIdAndIdGreaterThanOrderByIdAsc(topicId, afterId, limit);
+        }
+        if (difficulty != null) {
+            return quizRepo.findByDifficultyLevelAndIdGreaterThanOrderByIdAsc(difficulty, afterId, limit);
+        }
+        return quizRepo.findByIdGreaterThanOrderByIdAsc(afterId, limit);
     }
 
     public ResponseEntity<?> addQuiz(@Valid AddQuizDto input) {
@@ -47,6 +82,8 @@ public class QuizService {
                 .difficultyLevel(input.difficulty())
                 .build();
         quizRepo.saveAndFlush(newQuiz);
+        catalogCache.invalidate(CatalogCache.QUIZZES);
+        searchService.indexQuiz(newQuiz);
         log.info("[Add-Quiz] Quiz created successfully");
         return new ResponseEntity<>(new ApiResponse<>(true, "Quiz created successfully"), HttpStatus.CREATED);
 
@@ -55,6 +92,11 @@ public class QuizService {
     public ResponseEntity<?> deleteQuiz(Long id) {
         Quiz quiz = quizRepo.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz with id: " + id + " not found"));
         quizRepo.delete(quiz);
+        expiryService.discardQuizzes(List.of(id));
+        answerKeyCache.invalidate(id);
+        catalogCache.invalidate(CatalogCache.QUIZZES, CatalogCache.QUESTIONS, CatalogCache.quiz(id));
+        leaderboardService.removeQuiz(id);
+        searchService.remove(SearchIndex.DocType.QUIZ, id);
         log.info("[Delete-Quiz] Quiz with id {}, deleted successfully", id);
         return new ResponseEntity<>(new ApiResponse<>(true, "Quiz with id: " + id + " deleted successfully"), HttpStatus.OK);
     }
@@ -71,6 +113,7 @@ public class QuizService {
             Topic topic = topicRepo.findById(input.topicId()).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Topic with id: " + input.topicId() + " not found"));
             quiz.setTopic(topic);
         }
+        boolean timeLimitChanged = input.timeLimit() != null && !input.timeLimit().equals(quiz.getTimeLimitMinutes());
         if (input.timeLimit() != null) {
             quiz.setTimeLimitMinutes(input.timeLimit());
         }
@@ -78,16 +121,38 @@ public class QuizService {
             quiz.setDifficultyLevel(input.difficulty());
         }
         quizRepo.save(quiz);
+        if (timeLimitChanged) {
+            expiryService.rescheduleQuiz(id);
+        }
+        catalogCache.invalidate(CatalogCache.QUIZZES);
+        searchService.indexQuiz(quiz);
         log.info("[Update-Quiz] Quiz with id {}, updated successfully", id);
         return new ResponseEntity<>(new ApiResponse<>(true, "Quiz has been Updated"), HttpStatus.OK);
     }
 
     @Transactional
-    public ResponseEntity<?> getQuizWithId(Long id) {
-        Quiz quiz = quizRepo.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz not found"));
-        QuizResponseDto response = mapToResponseDto(quiz);
+    public ResponseEntity<?> getQuizWithId(Long id, WebRequest request) {
+        QuizRepository.EtagSource source = quizRepo.findEtagSource(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz not found"));
+        String etag = HttpCaching.etag("quiz", id, source.getUpdatedAt().atZone(ZoneOffset.UTC).toInstant().toEpochMilli(), source.getTopicVersion());
+        ResponseEntity<?> response = encodedResponses.respond("quiz:" + id, etag, request, () -> {
+            Quiz quiz = quizRepo.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz not found"));
+            return new ApiResponse<>(true, "Quiz fetched successfully", mapToResponseDto(quiz));
+        });
         log.info("[Get-quiz] Quiz with id {}, fetched successfully", id);
-        return new ResponseEntity<>(new ApiResponse<>(true, "Quiz fetched successfully", response), HttpStatus.OK);
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getPlayBundle(Long id, WebRequest request) {
+        QuizRepository.EtagSource source = quizRepo.findEtagSource(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz not found"));
+        String etag = HttpCaching.etag("play", id, source.getUpdatedAt().atZone(ZoneOffset.UTC).toInstant().toEpochMilli(),
+                source.getTopicVersion(), catalogCache.token(List.of(CatalogCache.quiz(id))));
+        ResponseEntity<?> response = encodedResponses.respond("play:" + id, etag, HttpCaching.PRIVATE, request, () -> {
+            Quiz quiz = quizRepo.findWithTopicById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz not found"));
+            return new ApiResponse<>(true, "Quiz bundle fetched successfully", mapToPlayBundleDto(quiz, answerKeyCache.get(id)));
+        });
+        log.info("[Get-PlayBundle] Play bundle for quiz with id {}, fetched successfully", id);
+        return response;
     }
 
     public ResponseEntity<?> getQuizWithTopicId(Long topicId) {
@@ -98,6 +163,26 @@ public class QuizService {
         return new ResponseEntity<>(new ApiResponse<>(true, "Quizzes with the topic fetched successfully", responses), HttpStatus.OK);
     }
 
+    private PlayBundleDto mapToPlayBundleDto(Quiz quiz, AnswerKey answerKey) {
+        List<PlayQuestionDto> questions = new ArrayList<>(answerKey.questionCount());
+        for (int q = 0; q < answerKey.questionCount(); q++) {
+            List<PlayOptionDto> options = new ArrayList<>(answerKey.optionEnd(q) - answerKey.optionStart(q));
+            for (int o = answerKey.optionStart(q); o < answerKey.optionEnd(q); o++) {
+                options.add(new PlayOptionDto(answerKey.optionId(o), answerKey.optionText(o)));
+            }
+            questions.add(new PlayQuestionDto(answerKey.questionId(q), answerKey.questionTitle(q), options));
+        }
+        return new PlayBundleDto(
+                quiz.getId(),
+                quiz.getTitle(),
+                quiz.getDescription(),
+                quiz.getTopic().getName(),
+                quiz.getTimeLimitMinutes(),
+                quiz.getDifficultyLevel(),
+                questions
+        );
+    }
+
     private QuizResponseDto mapToResponseDto(Quiz quiz) {
         return new QuizResponseDto(
                 quiz.getId(),
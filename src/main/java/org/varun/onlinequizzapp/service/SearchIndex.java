@@ -0,0 +1,489 @@
+package org.varun.onlinequizzapp.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class SearchIndex {
+    public enum DocType {
+        TOPIC(1.2),
+        QUIZ(1.1),
+        QUESTION(1.0);
+
+        private final double boost;
+
+        DocType(double boost) {
+            this.boost = boost;
+        }
+
+        private DocType parent() {
+            return switch (this) {
+                case TOPIC -> null;
+                case QUIZ -> TOPIC;
+                case QUESTION -> QUIZ;
+            };
+        }
+
+        private DocType child() {
+            return switch (this) {
+                case TOPIC -> QUIZ;
+                case QUIZ -> QUESTION;
+                case QUESTION -> null;
+            };
+        }
+    }
+
+    public record Hit(DocType type, long id, String title, double score) {
+    }
+
+    private record DocKey(DocType type, long id) {
+    }
+
+    private record Expansion(int termId, double weight) {
+    }
+
+    private static final int MAX_EXPANSIONS = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BlockingQueue<Scratch> scratchPool = new ArrayBlockingQueue<>(Math.max(Runtime.getRuntime().availableProcessors(), 2));
+
+    private Map<String, Integer> termIds = new HashMap<>();
+    private List<String> terms = new ArrayList<>();
+    private List<IntList> postings = new ArrayList<>();
+    private Map<String, IntList> trigramTerms = new HashMap<>();
+
+    private Map<DocKey, Integer> slots = new HashMap<>();
+    private Map<DocKey, Set<Long>> children = new HashMap<>();
+    private DocType[] types = new DocType[1024];
+    private long[] ids = new long[1024];
+    private long[] parents = new long[1024];
+    private String[] titles = new String[1024];
+    private int slotCount;
+    private int liveCount;
+
+    public void put(DocType type, long id, long parentId, String title, String... texts) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(new DocKey(type, id));
+            int slot = allocateSlot(type, id, parentId, title);
+            IntList docTerms = new IntList(16);
+            addTerms(title, docTerms);
+            for (String text : texts) {
+                addTerms(text, docTerms);
+            }
+            for (int i = 0; i < docTerms.size; i++) {
+                postings.get(docTerms.data[i]).add(slot);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(DocType type, long id) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(new DocKey(type, id));
+            removeChildren(new DocKey(type, id));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceWith(SearchIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            termIds = rebuilt.termIds;
+            terms = rebuilt.terms;
+            postings = rebuilt.postings;
+            trigramTerms = rebuilt.trigramTerms;
+            slots = rebuilt.slots;
+            children = rebuilt.children;
+            types = rebuilt.types;
+            ids = rebuilt.ids;
+            parents = rebuilt.parents;
+            titles = rebuilt.titles;
+            slotCount = rebuilt.slotCount;
+            liveCount = rebuilt.liveCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Hit> search(String query, DocType type, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        Scratch scratch = acquireScratch(slotCount);
+        try {
+            for (String queryTerm : queryTerms) {
+                List<Expansion> expansions = expand(queryTerm);
+                int groupStamp = scratch.nextStamp();
+                for (Expansion expansion : expansions) {
+                    IntList docs = postings.get(expansion.termId());
+                    double weight = expansion.weight() * Math.log(1.0 + (double) liveCount / docs.size);
+                    for (int i = 0; i < docs.size; i++) {
+                        int slot = docs.data[i];
+                        if (titles[slot] == null || (type != null && types[slot] != type) || scratch.groupMarks[slot] == groupStamp) {
+                            continue;
+                        }
+                        scratch.groupMarks[slot] = groupStamp;
+                        if (scratch.touchMarks[slot] != scratch.queryStamp) {
+                            scratch.touchMarks[slot] = scratch.queryStamp;
+                            scratch.scores[slot] = 0f;
+                            scratch.touched.add(slot);
+                        }
+                        scratch.scores[slot] += (float) weight;
+                    }
+                }
+            }
+            return topHits(scratch, limit);
+        } finally {
+            releaseScratch(scratch);
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> topHits(Scratch scratch, int limit) {
+        float[] scores = scratch.scores;
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, Comparator
+                .comparingDouble((Integer slot) -> scores[slot] * types[slot].boost)
+                .thenComparing(slot -> -slot));
+        for (int i = 0; i < scratch.touched.size; i++) {
+            top.add(scratch.touched.data[i]);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        Hit[] hits = new Hit[top.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            int slot = top.poll();
+            hits[i] = new Hit(types[slot], ids[slot], titles[slot], scores[slot] * types[slot].boost);
+        }
+        return List.of(hits);
+    }
+
+    private List<Expansion> expand(String queryTerm) {
+        List<Expansion> expansions = new ArrayList<>();
+        Integer exact = termIds.get(queryTerm);
+        if (exact != null) {
+            expansions.add(new Expansion(exact, 1.0));
+        }
+        List<String> grams = trigrams(queryTerm);
+        if (grams.isEmpty()) {
+            return expansions;
+        }
+        int maxEdits = queryTerm.length() < 4 ? 0 : queryTerm.length() < 8 ? 1 : 2;
+        Map<Integer, Integer> overlaps = new HashMap<>();
+        for (String gram : grams) {
+            IntList candidates = trigramTerms.get(gram);
+            if (candidates == null) continue;
+            for (int i = 0; i < candidates.size; i++) {
+                overlaps.merge(candidates.data[i], 1, Integer::sum);
+            }
+        }
+        List<Expansion> fuzzy = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> overlap : overlaps.entrySet()) {
+            int termId = overlap.getKey();
+            if (exact != null && termId == exact) continue;
+            String term = terms.get(termId);
+            if (term.startsWith(queryTerm)) {
+                fuzzy.add(new Expansion(termId, 0.9 * queryTerm.length() / term.length() + 0.05));
+            } else if (maxEdits > 0 && overlap.getValue() >= Math.min(2, grams.size())
+                    && Math.abs(term.length() - queryTerm.length()) <= maxEdits) {
+                int distance = editDistance(queryTerm, term, maxEdits);
+                if (distance <= maxEdits) {
+                    fuzzy.add(new Expansion(termId, distance == 1 ? 0.7 : 0.5));
+                }
+            }
+        }
+        fuzzy.sort(Comparator.comparingDouble(Expansion::weight).reversed()
+                .thenComparing(expansion -> -postings.get(expansion.termId()).size));
+        expansions.addAll(fuzzy.subList(0, Math.min(fuzzy.size(), MAX_EXPANSIONS)));
+        return expansions;
+    }
+
+    private void addTerms(String text, IntList docTerms) {
+        if (text == null) return;
+        for (String term : tokenize(text)) {
+            int termId = termIds.computeIfAbsent(term, this::newTerm);
+            if (!docTerms.contains(termId)) {
+                docTerms.add(termId);
+            }
+        }
+    }
+
+    private int newTerm(String term) {
+        int termId = terms.size();
+        terms.add(term);
+        postings.add(new IntList(4));
+        for (String gram : trigrams(term)) {
+            trigramTerms.computeIfAbsent(gram, g -> new IntList(4)).add(termId);
+        }
+        return termId;
+    }
+
+    private int allocateSlot(DocType type, long id, long parentId, String title) {
+        if (slotCount == ids.length) {
+            int capacity = ids.length * 2;
+            types = Arrays.copyOf(types, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+        }
+        int slot = slotCount++;
+        types[slot] = type;
+        ids[slot] = id;
+        parents[slot] = parentId;
+        titles[slot] = title != null ? title : "";
+        slots.put(new DocKey(type, id), slot);
+        if (type.parent() != null) {
+            children.computeIfAbsent(new DocKey(type.parent(), parentId), key -> new HashSet<>()).add(id);
+        }
+        liveCount++;
+        return slot;
+    }
+
+    private void removeSlot(DocKey key) {
+        Integer slot = slots.remove(key);
+        if (slot != null) {
+            titles[slot] = null;
+            liveCount--;
+            if (key.type().parent() != null) {
+                DocKey parentKey = new DocKey(key.type().parent(), parents[slot]);
+                Set<Long> siblings = children.get(parentKey);
+                if (siblings != null && siblings.remove(key.id()) && siblings.isEmpty()) {
+                    children.remove(parentKey);
+                }
+            }
+        }
+    }
+
+    private void removeChildren(DocKey parentKey) {
+        ArrayDeque<DocKey> pending = new ArrayDeque<>();
+        pending.add(parentKey);
+        while (!pending.isEmpty()) {
+            DocKey parent = pending.poll();
+            Set<Long> childIds = children.remove(parent);
+            if (childIds == null) {
+                continue;
+            }
+            DocType childType = parent.type().child();
+            for (Long childId : childIds) {
+                DocKey childKey = new DocKey(childType, childId);
+                removeSlot(childKey);
+                pending.add(childKey);
+            }
+        }
+    }
+
+    private void compactIfNeeded() {
+        int dead = slotCount - liveCount;
+        if (dead < 1024 || dead < liveCount / 4) {
+            return;
+        }
+        int[] remap = new int[slotCount];
+        int next = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (titles[slot] == null) {
+                remap[slot] = -1;
+                continue;
+            }
+            remap[slot] = next;
+            types[next] = types[slot];
+            ids[next] = ids[slot];
+            parents[next] = parents[slot];
+            titles[next] = titles[slot];
+            next++;
+        }
+        Arrays.fill(titles, next, slotCount, null);
+        slotCount = next;
+        for (IntList docs : postings) {
+            int size = 0;
+            for (int i = 0; i < docs.size; i++) {
+                int mapped = remap[docs.data[i]];
+                if (mapped >= 0) docs.data[size++] = mapped;
+            }
+            docs.size = size;
+        }
+        slots.replaceAll((key, slot) -> remap[slot]);
+        compactTerms();
+    }
+
+    private void compactTerms() {
+        int[] remap = new int[terms.size()];
+        int next = 0;
+        for (int termId = 0; termId < terms.size(); termId++) {
+            IntList docs = postings.get(termId);
+            if (docs.size == 0) {
+                termIds.remove(terms.get(termId));
+                remap[termId] = -1;
+                continue;
+            }
+            remap[termId] = next;
+            terms.set(next, terms.get(termId));
+            postings.set(next, docs);
+            next++;
+        }
+        if (next == terms.size()) {
+            return;
+        }
+        terms.subList(next, terms.size()).clear();
+        postings.subList(next, postings.size()).clear();
+        termIds.replaceAll((term, termId) -> remap[termId]);
+        trigramTerms.values().removeIf(candidates -> {
+            int size = 0;
+            for (int i = 0; i < candidates.size; i++) {
+                int mapped = remap[candidates.data[i]];
+                if (mapped >= 0) candidates.data[size++] = mapped;
+            }
+            candidates.size = size;
+            return size == 0;
+        });
+    }
+
+    private Scratch acquireScratch(int capacity) {
+        Scratch scratch = scratchPool.poll();
+        if (scratch == null || scratch.scores.length < capacity) {
+            scratch = new Scratch(Math.max(capacity, 1024) + capacity / 4);
+        }
+        scratch.queryStamp = scratch.nextStamp();
+        scratch.touched.size = 0;
+        return scratch;
+    }
+
+    private void releaseScratch(Scratch scratch) {
+        scratchPool.offer(scratch);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private static int editDistance(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        int[] beforePrevious = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, beforePrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static List<String> trigrams(String term) {
+        String padded = "^" + term;
+        List<String> grams = new ArrayList<>(Math.max(padded.length() - 2, 0));
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static final class Scratch {
+        private final float[] scores;
+        private final int[] touchMarks;
+        private final int[] groupMarks;
+        private final IntList touched = new IntList(256);
+        private int stamp;
+        private int queryStamp;
+
+        private Scratch(int capacity) {
+            scores = new float[capacity];
+            touchMarks = new int[capacity];
+            groupMarks = new int[capacity];
+        }
+
+        private int nextStamp() {
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(touchMarks, 0);
+                Arrays.fill(groupMarks, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+    }
+
+    private static final class IntList {
+        private int[] data;
+        private int size;
+
+        private IntList(int capacity) {
+            data = new int[capacity];
+        }
+
+        private void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        private boolean contains(int value) {
+            for (int i = 0; i < size; i++) {
+                if (data[i] == value) return true;
+            }
+            return false;
+        }
+    }
+}
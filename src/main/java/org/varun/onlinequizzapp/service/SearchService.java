@@ -0,0 +1,152 @@
+package org.varun.onlinequizzapp.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+import org.varun.onlinequizzapp.dto.ApiResponse;
+import org.varun.onlinequizzapp.dto.search.SearchResultDto;
+import org.varun.onlinequizzapp.model.Question;
+import org.varun.onlinequizzapp.model.Quiz;
+import org.varun.onlinequizzapp.model.Topic;
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+import org.varun.onlinequizzapp.repository.QuizRepository;
+import org.varun.onlinequizzapp.repository.TopicRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+    private static final int REBUILD_BATCH_SIZE = 5000;
+    private static final int MAX_RESULTS = 50;
+
+    private final SearchIndex searchIndex;
+    private final TopicRepository topicRepo;
+    private final QuizRepository quizRepo;
+    private final QuestionRepository questionRepo;
+    private final Object writeLock = new Object();
+    private List<Consumer<SearchIndex>> writesDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        synchronized (writeLock) {
+            writesDuringRebuild = new ArrayList<>();
+        }
+        SearchIndex rebuilt = new SearchIndex();
+        int replayed;
+        try {
+            load(rebuilt);
+            synchronized (writeLock) {
+                replayed = writesDuringRebuild.size();
+                writesDuringRebuild.forEach(write -> write.accept(rebuilt));
+                searchIndex.replaceWith(rebuilt);
+            }
+        } finally {
+            synchronized (writeLock) {
+                writesDuringRebuild = null;
+            }
+        }
+        log.info("[Search-Index] Indexed {} documents in {} ms, replaying {} concurrent writes", searchIndex.size(), (System.nanoTime() - start) / 1_000_000, replayed);
+    }
+
+    private void load(SearchIndex index) {
+        long afterId = 0;
+        List<TopicRepository.SearchRow> topics;
+        do {
+            topics = topicRepo.findSearchRows(afterId, Limit.of(REBUILD_BATCH_SIZE));
+            for (TopicRepository.SearchRow row : topics) {
+                index.put(SearchIndex.DocType.TOPIC, row.getId(), 0, row.getTitle());
+                afterId = row.getId();
+            }
+        } while (topics.size() == REBUILD_BATCH_SIZE);
+        afterId = 0;
+        List<QuizRepository.SearchRow> quizzes;
+        do {
+            quizzes = quizRepo.findSearchRows(afterId, Limit.of(REBUILD_BATCH_SIZE));
+            for (QuizRepository.SearchRow row : quizzes) {
+                index.put(SearchIndex.DocType.QUIZ, row.getId(), row.getTopicId(), row.getTitle(), row.getDescription());
+                afterId = row.getId();
+            }
+        } while (quizzes.size() == REBUILD_BATCH_SIZE);
+        afterId = 0;
+        List<QuestionRepository.SearchRow> questions;
+        do {
+            questions = questionRepo.findSearchRows(afterId, Limit.of(REBUILD_BATCH_SIZE));
+            for (QuestionRepository.SearchRow row : questions) {
+                index.put(SearchIndex.DocType.QUESTION, row.getId(), row.getQuizId(), row.getTitle());
+                afterId = row.getId();
+            }
+        } while (questions.size() == REBUILD_BATCH_SIZE);
+    }
+
+    public ResponseEntity<?> search(String query, SearchIndex.DocType type, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query must not be empty");
+        }
+        int max = Math.min(Math.max(limit, 1), MAX_RESULTS);
+        List<SearchResultDto> results = searchIndex.search(query, type, max).stream()
+                .map(hit -> new SearchResultDto(hit.type().name(), hit.id(), hit.title(), hit.score()))
+                .toList();
+        log.info("[Search] {} results found for the query", results.size());
+        return new ResponseEntity<>(new ApiResponse<>(true, "Search results fetched successfully", results), HttpStatus.OK);
+    }
+
+    public void indexTopic(Topic topic) {
+        Long id = topic.getId();
+        String name = topic.getName();
+        afterCommit(index -> index.put(SearchIndex.DocType.TOPIC, id, 0, name));
+    }
+
+    public void indexQuiz(Quiz quiz) {
+        Long id = quiz.getId();
+        Long topicId = quiz.getTopic().getId();
+        String title = quiz.getTitle();
+        String description = quiz.getDescription();
+        afterCommit(index -> index.put(SearchIndex.DocType.QUIZ, id, topicId, title, description));
+    }
+
+    public void indexQuestion(Question question) {
+        Long id = question.getId();
+        Long quizId = question.getQuiz().getId();
+        String title = question.getTitle();
+        afterCommit(index -> index.put(SearchIndex.DocType.QUESTION, id, quizId, title));
+    }
+
+    public void remove(SearchIndex.DocType type, Long id) {
+        afterCommit(index -> index.remove(type, id));
+    }
+
+    private void afterCommit(Consumer<SearchIndex> write) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(write);
+                }
+            });
+        } else {
+            apply(write);
+        }
+    }
+
+    private void apply(Consumer<SearchIndex> write) {
+        synchronized (writeLock) {
+            write.accept(searchIndex);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(write);
+            }
+        }
+    }
+}
@@ -4,14 +4,18 @@ import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.varun.onlinequizzapp.dto.topic.AddTopicDto;
 import org.varun.onlinequizzapp.dto.ApiResponse;
+import org.varun.onlinequizzapp.dto.PageResponseDto;
 import org.varun.onlinequizzapp.dto.topic.TopicResponseDto;
 import org.varun.onlinequizzapp.dto.topic.UpdateTopicDto;
+import org.varun.onlinequizzapp.model.Quiz;
 import org.varun.onlinequizzapp.model.Topic;
 import org.varun.onlinequizzapp.repository.TopicRepository;
 
@@ -23,12 +27,25 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class TopicService {
     private final TopicRepository topicRepo;
+    private final CatalogCache catalogCache;
+    private final EncodedResponseCache encodedResponses;
+    private final SearchService searchService;
+    private final AttemptExpiryService expiryService;
+    private final AnswerKeyCache answerKeyCache;
+    private final LeaderboardService leaderboardService;
 
-    public ResponseEntity<?> getTopics() {
-        List<Topic> topics = topicRepo.findAll();
-        List<TopicResponseDto> responses = topics.stream().map(this::mapToResponseDto).toList();
-        log.info("[Get-Topics] All topics fetched successfully");
-        return new ResponseEntity<>(new ApiResponse<>(true, "All topics fetched", responses), HttpStatus.OK);
+    public ResponseEntity<?> getTopics(String cursor, Integer size, WebRequest request) {
+        int pageSize = IdCursor.pageSize(size);
+        long afterId = IdCursor.decode(cursor);
+        List<String> tags = List.of(CatalogCache.TOPICS);
+        String key = "topics:" + afterId + ":" + pageSize;
+        ResponseEntity<?> response = encodedResponses.respond(key, catalogCache.etag(tags), request, () -> {
+            PageResponseDto<TopicResponseDto> page = catalogCache.get(key, tags,
+                    () -> IdCursor.page(topicRepo.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1)), pageSize, Topic::getId, this::mapToResponseDto));
+            return new ApiResponse<>(true, "All topics fetched", page);
+        });
+        log.info("[Get-Topics] Topics page fetched successfully");
+        return response;
     }
 
     public ResponseEntity<?> addTopic(@Valid AddTopicDto input) {
@@ -40,6 +57,8 @@ public class TopicService {
                 .description(input.description().trim())
                 .build();
         topicRepo.save(newTopic);
+        catalogCache.invalidate(CatalogCache.TOPICS);
+        searchService.indexTopic(newTopic);
         log.info("[Add-Topic] New Topic has been created successfully");
         return new ResponseEntity<>(new ApiResponse<>(true, "Topic created successfully"), HttpStatus.CREATED);
     }
@@ -52,7 +71,16 @@ public class TopicService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Topic has " + topic.getQuizzes().size() + " quizzes associated.");
         }
 
+        List<Long> quizIds = topic.getQuizzes().stream().map(Quiz::getId).toList();
         topicRepo.deleteById(id);
+        expiryService.discardQuizzes(quizIds);
+        catalogCache.invalidate(CatalogCache.TOPICS, CatalogCache.QUIZZES, CatalogCache.QUESTIONS);
+        for (Long quizId : quizIds) {
+            answerKeyCache.invalidate(quizId);
+            catalogCache.invalidate(CatalogCache.quiz(quizId));
+            leaderboardService.removeQuiz(quizId);
+        }
+        searchService.remove(SearchIndex.DocType.TOPIC, id);
         String message = force ? "Topic and associated quizzes are deleted" : "Topic deleted successfully";
         log.info("[Delete-Topic] Topic with id {}, deleted successfully", id);
         return new ResponseEntity<>(new ApiResponse<>(true, message), HttpStatus.OK);
@@ -79,15 +107,20 @@ public class TopicService {
         }
 
         Topic updatedTopic = topicRepo.save(topic);
+        catalogCache.invalidate(CatalogCache.TOPICS, CatalogCache.QUIZZES);
+        searchService.indexTopic(updatedTopic);
         log.info("[Update_Topic] Topic with id {}, updated successfully", id);
         return new ResponseEntity<>(new ApiResponse<>(true, "Topic updated successfully", updatedTopic), HttpStatus.OK);
     }
 
-    public ResponseEntity<?> getTopicWithId(Long id) {
-        Topic topic = topicRepo.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Topic not found"));
-        TopicResponseDto response = mapToResponseDto(topic);
+    public ResponseEntity<?> getTopicWithId(Long id, WebRequest request) {
+        Long version = topicRepo.findVersionById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Topic not found"));
+        ResponseEntity<?> response = encodedResponses.respond("topic:" + id, HttpCaching.etag("topic", id, version), request, () -> {
+            Topic topic = topicRepo.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Topic not found"));
+            return new ApiResponse<>(true, "Topic fetched successfully", mapToResponseDto(topic));
+        });
         log.info("[Get-Topic] Topic with id {}, fetched successfully", id);
-        return new ResponseEntity<>(new ApiResponse<>(true, "Topic fetched successfully", response), HttpStatus.OK);
+        return response;
     }
 
     private TopicResponseDto mapToResponseDto(Topic topic) {
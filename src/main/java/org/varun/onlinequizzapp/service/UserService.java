@@ -1,22 +1,27 @@
 package org.varun.onlinequizzapp.service;
 
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.varun.onlinequizzapp.dto.ApiResponse;
+import org.varun.onlinequizzapp.dto.PageResponseDto;
 import org.varun.onlinequizzapp.dto.user.UserResponseDto;
 import org.varun.onlinequizzapp.model.User;
 import org.varun.onlinequizzapp.repository.UserRepository;
 
 import java.util.List;
 
+@Slf4j
 @Service
 @AllArgsConstructor
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
     private UserRepository userRepo;
 
     @Override
@@ -24,10 +29,20 @@ public class UserService implements UserDetailsService {
         return userRepo.findByUsernameOrEmail(login, login).orElseThrow(() -> new UsernameNotFoundException("User not found with " + login));
     }
 
-    public ResponseEntity<?> getAllUsers() {
-        List<User> users = userRepo.findAll();
-        List<UserResponseDto> userResponseDtoList = users.stream().map(this::mapToResponseDto).toList();
-        return new ResponseEntity<>(new ApiResponse<>(true, "Fetched all users", userResponseDtoList), HttpStatus.OK);
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        userRepo.updatePassword(user.getId(), newPassword);
+        user.setPassword(newPassword);
+        log.info("[Rehash-Password] Upgraded password hash for user {}", user.getId());
+        return user;
+    }
+
+    public ResponseEntity<?> getAllUsers(String cursor, Integer size) {
+        int pageSize = IdCursor.pageSize(size);
+        List<User> users = userRepo.findByIdGreaterThanOrderByIdAsc(IdCursor.decode(cursor), Limit.of(pageSize + 1));
+        PageResponseDto<UserResponseDto> response = IdCursor.page(users, pageSize, User::getId, this::mapToResponseDto);
+        return new ResponseEntity<>(new ApiResponse<>(true, "Fetched all users", response), HttpStatus.OK);
     }
 
     private UserResponseDto mapToResponseDto(User user) {
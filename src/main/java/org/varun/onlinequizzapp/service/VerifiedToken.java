@@ -0,0 +1,10 @@
+package org.varun.onlinequizzapp.service;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record VerifiedToken(String subject, Instant expiresAt, Map<String, Object> claims) {
+    public boolean isExpired(long nowMillis) {
+        return expiresAt != null && expiresAt.toEpochMilli() <= nowMillis;
+    }
+}
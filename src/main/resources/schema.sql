@@ -0,0 +1,54 @@
+-- Move sequence-backed ids past rows inserted while the tables still used identity columns
+select setval('user_answers_seq', (select max(id) from user_answers))
+where (select max(id) from user_answers) > (select last_value from user_answers_seq);
+select setval('questions_seq', (select max(id) from questions))
+where (select max(id) from questions) > (select last_value from questions_seq);
+select setval('options_seq', (select max(id) from options))
+where (select max(id) from options) > (select last_value from options_seq);
+
+-- At most one incomplete attempt per user and quiz; older duplicates left by racing starts are closed first
+update quiz_attempts a set is_completed = true, completed_at = now()
+where a.is_completed = false
+  and exists (select 1 from quiz_attempts b
+              where b.user_id = a.user_id and b.quiz_id = a.quiz_id and b.is_completed = false and b.id > a.id);
+create unique index if not exists uq_quiz_attempts_active on quiz_attempts (user_id, quiz_id) where is_completed = false;
+
+-- Case-insensitive uniqueness of question titles per quiz and option texts per question; legacy duplicates are renamed first
+update questions q set title = left(q.title, 230) || ' (#' || q.id || ')'
+where exists (select 1 from questions p
+              where p.quiz_id = q.quiz_id and lower(p.title) = lower(q.title) and p.id < q.id);
+update options o set option_text = left(o.option_text, 230) || ' (#' || o.id || ')'
+where exists (select 1 from options p
+              where p.question_id = o.question_id and lower(p.option_text) = lower(o.option_text) and p.id < o.id);
+create unique index if not exists uq_questions_quiz_title on questions (quiz_id, lower(title));
+create unique index if not exists uq_options_question_text on options (question_id, lower(option_text));
+
+-- One answer per question in an attempt; older duplicates written before the constraint existed are dropped first,
+-- after rescoring their attempts from the newest answer per question so score and attempted count match the kept rows
+update quiz_attempts t
+set attempted_questions = (select count(distinct u.question_id) from user_answers u where u.quiz_attempt_id = t.id),
+    score = (select count(*) from user_answers u
+             where u.quiz_attempt_id = t.id and u.is_correct
+               and not exists (select 1 from user_answers n
+                               where n.quiz_attempt_id = u.quiz_attempt_id and n.question_id = u.question_id and n.id > u.id))
+where exists (select 1 from user_answers a join user_answers b
+                on b.quiz_attempt_id = a.quiz_attempt_id and b.question_id = a.question_id and b.id > a.id
+              where a.quiz_attempt_id = t.id);
+delete from user_answers a
+where exists (select 1 from user_answers b
+              where b.quiz_attempt_id = a.quiz_attempt_id and b.question_id = a.question_id and b.id > a.id);
+create unique index if not exists uq_user_answers_attempt_question on user_answers (quiz_attempt_id, question_id);
+
+-- Seed answer statistics once from answers recorded before the statistics tables existed, so re-answers never go negative
+insert into question_stats (question_id, answered_count, correct_count)
+select question_id, count(*), count(*) filter (where is_correct)
+from user_answers
+where not exists (select 1 from question_stats)
+group by question_id
+on conflict (question_id) do nothing;
+insert into option_stats (option_id, question_id, selected_count)
+select selected_option_id, question_id, count(*)
+from user_answers
+where selected_option_id is not null and not exists (select 1 from option_stats)
+group by selected_option_id, question_id
+on conflict (option_id) do nothing;
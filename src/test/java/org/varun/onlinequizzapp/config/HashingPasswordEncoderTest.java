@@ -0,0 +1,115 @@
+package org.varun.onlinequizzapp.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashingPasswordEncoderTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private static PasswordEncoder delegating(int strength) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(strength));
+        return encoder;
+    }
+
+    @Test
+    void hashesOnExecutorAndFlagsOutdatedHashesForUpgrade() {
+        HashingPasswordEncoder encoder = new HashingPasswordEncoder(delegating(5), 2, 8, 5_000, registry);
+        try {
+            String encoded = encoder.encode("secret");
+            assertTrue(encoded.startsWith("{bcrypt}$2a$05$"));
+            assertTrue(encoder.matches("secret", encoded));
+            assertFalse(encoder.matches("wrong", encoded));
+            assertFalse(encoder.upgradeEncoding(encoded));
+
+            String legacy = new BCryptPasswordEncoder(5).encode("secret");
+            assertTrue(encoder.matches("secret", legacy));
+            assertTrue(encoder.upgradeEncoding(legacy));
+            assertTrue(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret")));
+
+            assertEquals(3, registry.get("password.hash.time").tag("operation", "matches").timer().count());
+            assertEquals(4, registry.get("password.hash.queue.wait").timer().count());
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    private static PasswordEncoder blocking(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+    }
+
+    @Test
+    void rejectsWithServiceUnavailableWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HashingPasswordEncoder encoder = new HashingPasswordEncoder(blocking(started, release), 1, 1, 5_000, registry);
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+            while (registry.get("password.hash.queue.depth").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            long start = System.nanoTime();
+            ResponseStatusException rejected = assertThrows(ResponseStatusException.class, () -> encoder.encode("third"));
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1_000));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+            assertEquals(1, registry.get("password.hash.rejections").counter().count());
+
+            release.countDown();
+            assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hashed:second", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void stopsWaitingWithServiceUnavailableAfterTheTimeout() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HashingPasswordEncoder encoder = new HashingPasswordEncoder(blocking(started, release), 1, 1, 100, registry);
+        try {
+            long start = System.nanoTime();
+            ResponseStatusException timedOut = assertThrows(ResponseStatusException.class, () -> encoder.encode("slow"));
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, timedOut.getStatusCode());
+            assertTrue(waitedMillis >= 100 && waitedMillis < 2_000, "waited " + waitedMillis + " ms");
+            assertEquals(1, registry.get("password.hash.timeouts").counter().count());
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            encoder.shutdown();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.varun.onlinequizzapp.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryStatsFilterTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final QueryStatsFilter filter = new QueryStatsFilter(registry, true);
+
+    @Test
+    void streamedBodyIsWrittenThroughWithHeadersFromBeforeTheFirstByte() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/export/attempts");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            QueryStats.recordStatement(1_000_000);
+            res.getOutputStream().write("first,".getBytes());
+            res.flushBuffer();
+            assertEquals("first,", response.getContentAsString());
+            QueryStats.recordStatement(1_000_000);
+            res.getOutputStream().write("second".getBytes());
+        };
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals("first,second", response.getContentAsString());
+        assertEquals("1", response.getHeader("X-Query-Count"));
+        assertEquals(2, registry.get("http.server.requests.sql.statements").summary().totalAmount());
+    }
+
+    @Test
+    void bodilessResponseStillGetsHeaders() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/quiz/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            QueryStats.recordStatement(2_000_000);
+            QueryStats.recordRows(7);
+        });
+
+        assertEquals("1", response.getHeader("X-Query-Count"));
+        assertEquals("7", response.getHeader("X-Query-Rows"));
+        assertEquals(7, registry.get("http.server.requests.sql.rows").summary().totalAmount());
+        assertEquals("2", response.getHeader("X-Query-Time-Ms"));
+    }
+
+    @Test
+    void asyncRequestsAreNotRecordedAsCompleteMeasurements() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/export/attempts");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            QueryStats.recordStatement(1_000_000);
+            req.startAsync();
+        });
+
+        assertNull(registry.find("http.server.requests.sql.statements").summary());
+        assertEquals(0, QueryStats.current().statements());
+    }
+}
@@ -0,0 +1,34 @@
+package org.varun.onlinequizzapp.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.varun.onlinequizzapp.dto.ApiResponse;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GlobalExceptionHandlerTest {
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/question/add");
+
+    private static DataIntegrityViolationException violation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException("violation"), constraint));
+    }
+
+    @Test
+    void mapsOnlyKnownUniqueIndexesToConflict() {
+        var duplicate = handler.handleDataIntegrityViolation(violation("UQ_QUESTIONS_QUIZ_TITLE"), request);
+        assertEquals(HttpStatus.CONFLICT, duplicate.getStatusCode());
+        assertEquals("Question with the title already exists in the quiz", ((ApiResponse<?>) duplicate.getBody()).getMessage());
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, handler.handleDataIntegrityViolation(violation("fk_user_answers_question"), request).getStatusCode());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, handler.handleDataIntegrityViolation(violation(null), request).getStatusCode());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR,
+                handler.handleDataIntegrityViolation(new DataIntegrityViolationException("not-null"), request).getStatusCode());
+    }
+}
@@ -0,0 +1,109 @@
+package org.varun.onlinequizzapp.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerJournalTest {
+    @TempDir
+    Path directory;
+
+    private List<AnswerJournal.AnswerEvent> replay(AnswerJournal journal) {
+        List<AnswerJournal.AnswerEvent> events = new ArrayList<>();
+        journal.replay(events::add);
+        return events;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    void replaysAppendedAnswersInOrder() throws IOException {
+        AnswerJournal journal = new AnswerJournal(directory, 4096, 8);
+        journal.append(1L, 10L, 100L, true);
+        journal.append(1L, 11L, 110L, false);
+        journal.append(2L, 10L, 101L, false);
+
+        List<AnswerJournal.AnswerEvent> events = replay(journal);
+
+        assertEquals(3, events.size());
+        assertEquals(1L, events.getFirst().attemptId());
+        assertEquals(100L, events.getFirst().optionId());
+        assertTrue(events.getFirst().correct());
+        assertEquals(101L, events.get(2).optionId());
+        journal.close();
+    }
+
+    @Test
+    void rotatesSegmentsAndDropsOldOnes() throws IOException {
+        AnswerJournal journal = new AnswerJournal(directory, AnswerJournal.RECORD_SIZE * 10, 3);
+        for (long i = 0; i < 45; i++) {
+            journal.append(1L, i, i, true);
+        }
+
+        assertEquals(3, segments().size());
+        List<AnswerJournal.AnswerEvent> events = replay(journal);
+        assertEquals(25, events.size());
+        assertEquals(20L, events.getFirst().questionId());
+        assertEquals(44L, events.getLast().questionId());
+        journal.close();
+    }
+
+    @Test
+    void resumesAfterTornRecordOnReopen() throws IOException {
+        AnswerJournal journal = new AnswerJournal(directory, 4096, 8);
+        for (long i = 0; i < 5; i++) {
+            journal.append(1L, i, i, false);
+        }
+        journal.close();
+
+        try (FileChannel channel = FileChannel.open(segments().getFirst(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), AnswerJournal.RECORD_SIZE * 3L + 5);
+        }
+
+        AnswerJournal reopened = new AnswerJournal(directory, 4096, 8);
+        assertEquals(3, replay(reopened).size());
+
+        reopened.append(1L, 99L, 990L, true);
+        List<AnswerJournal.AnswerEvent> events = replay(reopened);
+        assertEquals(4, events.size());
+        assertEquals(99L, events.getLast().questionId());
+        reopened.close();
+    }
+
+    @Test
+    @Tag("perf")
+    void appendThroughput() throws IOException {
+        AnswerJournal journal = new AnswerJournal(directory, 16 * 1024 * 1024, 8);
+        int records = 1_000_000;
+        for (int i = 0; i < 50_000; i++) {
+            journal.append(1L, (long) i, (long) i, true);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < records; i++) {
+            journal.append((long) i, (long) i, (long) i, i % 2 == 0);
+        }
+        journal.force();
+        long elapsedNanos = System.nanoTime() - start;
+
+        assertTrue(elapsedNanos / records < 2_000, "append took " + elapsedNanos / records + " ns");
+        assertEquals(records + 50_000, replay(journal).size());
+        journal.close();
+    }
+}
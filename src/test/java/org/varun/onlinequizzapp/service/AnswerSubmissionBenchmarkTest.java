@@ -0,0 +1,128 @@
+package org.varun.onlinequizzapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.varun.onlinequizzapp.model.Question;
+import org.varun.onlinequizzapp.model.QuestionOption;
+import org.varun.onlinequizzapp.model.Quiz;
+import org.varun.onlinequizzapp.model.QuizAttempt;
+import org.varun.onlinequizzapp.model.Topic;
+import org.varun.onlinequizzapp.model.User;
+import org.varun.onlinequizzapp.model.type.Difficulty;
+import org.varun.onlinequizzapp.model.type.Role;
+import org.varun.onlinequizzapp.repository.QuestionOptionRepository;
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+import org.varun.onlinequizzapp.repository.QuizAttemptRepository;
+import org.varun.onlinequizzapp.repository.QuizRepository;
+import org.varun.onlinequizzapp.repository.TopicRepository;
+import org.varun.onlinequizzapp.repository.UserAnswerRepository;
+import org.varun.onlinequizzapp.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@Tag("perf")
+@DataJpaTest(properties = {"spring.sql.init.mode=never", "spring.jpa.show-sql=false"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnswerSubmissionBenchmarkTest {
+    private static final int ANSWERS_PER_ATTEMPT = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private UserRepository userRepo;
+    @Autowired
+    private TopicRepository topicRepo;
+    @Autowired
+    private QuizRepository quizRepo;
+    @Autowired
+    private QuizAttemptRepository attemptRepo;
+    @Autowired
+    private QuestionRepository questionRepo;
+    @Autowired
+    private QuestionOptionRepository optionRepo;
+    @Autowired
+    private UserAnswerRepository userAnswerRepo;
+
+    private User user;
+    private Quiz quiz;
+    private final List<AttemptSession.SubmittedAnswer> answers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String name = UUID.randomUUID().toString();
+        user = userRepo.save(User.builder().username(name).email(name + "@example.com").password("secret")
+                .isEnabled(true).role(Role.USER).build());
+        Topic topic = topicRepo.save(Topic.builder().name(name).description("Benchmark").build());
+        quiz = quizRepo.save(Quiz.builder().title(name).description("Benchmark").topic(topic)
+                .timeLimitMinutes(60).difficultyLevel(Difficulty.values()[0]).build());
+        for (int q = 0; q < ANSWERS_PER_ATTEMPT; q++) {
+            Question question = questionRepo.save(Question.builder().title("Question " + q).quiz(quiz).build());
+            QuestionOption first = null;
+            for (int o = 0; o < 4; o++) {
+                QuestionOption option = optionRepo.save(QuestionOption.builder().question(question).optionText("Option " + o).isCorrect(o == 0).build());
+                if (first == null) first = option;
+            }
+            answers.add(new AttemptSession.SubmittedAnswer(question.getId(), first.getId(), true));
+        }
+    }
+
+    private AttemptSessionStore store(AttemptSessionStore.FlushMode mode) {
+        return new AttemptSessionStore(attemptRepo, userAnswerRepo, questionRepo, optionRepo, mock(AnswerJournal.class), mock(QuestionStatsService.class),
+                transactionManager, mode, 60_000);
+    }
+
+    private AttemptSession newSession(AttemptSessionStore store) {
+        QuizAttempt attempt = attemptRepo.save(QuizAttempt.builder().user(user).quiz(quiz).score(0)
+                .totalQuestions(ANSWERS_PER_ATTEMPT).attemptedQuestions(0).startedAt(LocalDateTime.now()).isCompleted(false).build());
+        return store.getSession(attempt.getId()).orElseThrow();
+    }
+
+    private long submitOneByOne(AttemptSessionStore store, int attempts) {
+        long start = System.nanoTime();
+        for (int a = 0; a < attempts; a++) {
+            AttemptSession session = newSession(store);
+            for (AttemptSession.SubmittedAnswer answer : answers) {
+                store.recordAnswer(session, answer.questionId(), answer.optionId(), answer.correct());
+            }
+        }
+        return (System.nanoTime() - start) / attempts;
+    }
+
+    private long submitAsBatch(AttemptSessionStore store, int attempts) {
+        long start = System.nanoTime();
+        for (int a = 0; a < attempts; a++) {
+            store.recordAnswers(newSession(store), answers);
+        }
+        return (System.nanoTime() - start) / attempts;
+    }
+
+    @Test
+    void batchSubmissionOfFiftyAnswersBeatsFiftySingleSubmissions() {
+        AttemptSessionStore single = store(AttemptSessionStore.FlushMode.IMMEDIATE);
+        AttemptSessionStore batch = store(AttemptSessionStore.FlushMode.INTERVAL);
+        submitOneByOne(single, 10);
+        submitAsBatch(batch, 10);
+
+        long singleNanos = submitOneByOne(single, 40);
+        long batchNanos = submitAsBatch(batch, 40);
+
+        assertEquals(100 * ANSWERS_PER_ATTEMPT, jdbcTemplate.queryForObject(
+                "select count(*) from user_answers a join quiz_attempts t on t.id = a.quiz_attempt_id where t.quiz_id = ?", Integer.class, quiz.getId()));
+        assertTrue(batchNanos * 2 < singleNanos, "batch took " + batchNanos + " ns per attempt, single submissions took " + singleNanos + " ns");
+    }
+}
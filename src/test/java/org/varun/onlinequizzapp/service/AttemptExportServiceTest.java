@@ -0,0 +1,177 @@
+package org.varun.onlinequizzapp.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.varun.onlinequizzapp.model.Question;
+import org.varun.onlinequizzapp.model.Quiz;
+import org.varun.onlinequizzapp.model.Topic;
+import org.varun.onlinequizzapp.model.User;
+import org.varun.onlinequizzapp.model.type.Difficulty;
+import org.varun.onlinequizzapp.model.type.Role;
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+import org.varun.onlinequizzapp.repository.QuizRepository;
+import org.varun.onlinequizzapp.repository.TopicRepository;
+import org.varun.onlinequizzapp.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = {"spring.sql.init.mode=never", "spring.jpa.show-sql=false"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AttemptExportServiceTest {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepo;
+    @Autowired
+    private TopicRepository topicRepo;
+    @Autowired
+    private QuizRepository quizRepo;
+    @Autowired
+    private QuestionRepository questionRepo;
+
+    private AttemptExportService exportService() {
+        return new AttemptExportService(entityManagerFactory, mock(AttemptSessionStore.class), Jackson2ObjectMapperBuilder.json().build(), 1000);
+    }
+
+    private User user() {
+        String name = UUID.randomUUID().toString();
+        return userRepo.save(User.builder().username(name).email(name + "@example.com").password("secret")
+                .isEnabled(true).role(Role.USER).build());
+    }
+
+    private Quiz quiz(Topic topic) {
+        return quizRepo.save(Quiz.builder().title(UUID.randomUUID().toString()).description("Export").topic(topic)
+                .timeLimitMinutes(10).difficultyLevel(Difficulty.values()[0]).build());
+    }
+
+    private Topic topic() {
+        String name = UUID.randomUUID().toString();
+        return topicRepo.save(Topic.builder().name(name).description("Export").build());
+    }
+
+    private List<Long> questions(Quiz quiz, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> questionRepo.save(Question.builder().title("Question " + i).quiz(quiz).build()).getId())
+                .toList();
+    }
+
+    private void attempt(long id, User user, Quiz quiz, LocalDateTime startedAt) {
+        jdbcTemplate.update("insert into quiz_attempts (id, user_id, quiz_id, score, total_questions, attempted_questions, started_at, is_completed) " +
+                "values (?, ?, ?, 1, 2, 2, ?, false)", id, user.getId(), quiz.getId(), startedAt);
+    }
+
+    private void answer(long id, long attemptId, long questionId, boolean correct) {
+        jdbcTemplate.update("insert into user_answers (id, quiz_attempt_id, question_id, is_correct, answered_at) values (?, ?, ?, ?, ?)",
+                id, attemptId, questionId, correct, LocalDateTime.of(2026, 1, 1, 0, 0));
+    }
+
+    private static String export(AttemptExportService service, AttemptExportService.Format format, Long quizId, Long topicId,
+                                 LocalDateTime from, LocalDateTime to, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportAttempts(format, quizId, topicId, from, to, gzip).getBody().writeTo(out);
+        byte[] bytes = gzip ? new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes() : out.toByteArray();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void exportsFilteredRowsAsCsvAndNdjson() throws IOException {
+        User user = user();
+        Topic topic = topic();
+        Quiz first = quiz(topic);
+        Quiz second = quiz(topic);
+        List<Long> questionIds = questions(first, 2);
+        attempt(5_000_001L, user, first, LocalDateTime.of(2026, 1, 10, 9, 0));
+        answer(5_000_001L, 5_000_001L, questionIds.get(0), true);
+        answer(5_000_002L, 5_000_001L, questionIds.get(1), false);
+        attempt(5_000_002L, user, second, LocalDateTime.of(2026, 2, 10, 9, 0));
+        AttemptExportService service = exportService();
+
+        String csv = export(service, AttemptExportService.Format.CSV, null, topic.getId(), null, null, false);
+        List<String> lines = csv.lines().toList();
+        assertEquals(4, lines.size());
+        assertTrue(lines.getFirst().startsWith("attemptId,userId,username,quizId,quizTitle"));
+        assertTrue(lines.get(1).startsWith("5000001," + user.getId()));
+        assertTrue(lines.get(3).startsWith("5000002,"));
+
+        String ndjson = export(service, AttemptExportService.Format.NDJSON, first.getId(), null, null, null, false);
+        List<String> records = ndjson.lines().toList();
+        assertEquals(2, records.size());
+        assertTrue(records.getFirst().startsWith("{\"attemptId\":5000001,"));
+        assertTrue(records.getFirst().contains("\"isCorrect\":true"));
+
+        String february = export(service, AttemptExportService.Format.CSV, null, topic.getId(),
+                LocalDateTime.of(2026, 2, 1, 0, 0), LocalDateTime.of(2026, 3, 1, 0, 0), true);
+        assertEquals(2, february.lines().count());
+        assertTrue(february.lines().toList().get(1).startsWith("5000002,"));
+    }
+
+    @Test
+    @Tag("perf")
+    void streamsOneMillionAnswerRowsWithBoundedHeap() throws Exception {
+        User user = user();
+        Quiz quiz = quiz(topic());
+        List<Long> questionIds = questions(quiz, 5);
+        int attempts = 200_000;
+        jdbcTemplate.update("insert into quiz_attempts (id, user_id, quiz_id, score, total_questions, attempted_questions, started_at, is_completed) " +
+                "select 10000000 + x, ?, ?, 3, 5, 5, dateadd('SECOND', x, timestamp '2026-01-01 00:00:00'), false from system_range(1, ?)",
+                user.getId(), quiz.getId(), attempts);
+        jdbcTemplate.update("insert into user_answers (id, quiz_attempt_id, question_id, is_correct, answered_at) " +
+                "select 10000000 + x, 10000001 + x / 5, case mod(x, 5) when 0 then ? when 1 then ? when 2 then ? when 3 then ? else ? end, " +
+                "mod(x, 2) = 0, timestamp '2026-01-01 00:00:00' from system_range(0, ?)",
+                questionIds.get(0), questionIds.get(1), questionIds.get(2), questionIds.get(3), questionIds.get(4), attempts * 5 - 1);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        List<Long> retained = new ArrayList<>();
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong lines = new AtomicLong();
+        exportService().exportAttempts(AttemptExportService.Format.CSV, quiz.getId(), null, null, null, false).getBody().writeTo(new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes.addAndGet(len);
+                for (int i = off; i < off + len; i++) {
+                    if (b[i] == '\n' && lines.incrementAndGet() % 200_000 == 0) {
+                        System.gc();
+                        retained.add((memory.getHeapMemoryUsage().getUsed() - baseline) >> 20);
+                    }
+                }
+            }
+        });
+
+        assertTrue(bytes.get() > 0);
+        assertEquals(5, retained.size());
+        assertTrue(retained.getLast() - retained.getFirst() < 16, "retained heap grew with exported rows: " + retained);
+        assertEquals(attempts * 5L + 1, lines.get());
+    }
+}
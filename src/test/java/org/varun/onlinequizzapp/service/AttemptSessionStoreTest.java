@@ -0,0 +1,385 @@
+package org.varun.onlinequizzapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.varun.onlinequizzapp.model.*;
+import org.varun.onlinequizzapp.repository.QuestionOptionRepository;
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+import org.varun.onlinequizzapp.repository.QuizAttemptRepository;
+import org.varun.onlinequizzapp.repository.UserAnswerRepository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AttemptSessionStoreTest {
+    private static final long ATTEMPT_ID = 1L;
+
+    private final Map<Long, UserAnswer> answerTable = new ConcurrentHashMap<>();
+    private QuizAttempt attemptRow;
+
+    private QuizAttemptRepository attemptRepo;
+    private UserAnswerRepository userAnswerRepo;
+    private QuestionRepository questionRepo;
+    private QuestionOptionRepository optionRepo;
+    private QuestionStatsService questionStatsService;
+
+    @BeforeEach
+    void setUp() {
+        attemptRow = QuizAttempt.builder()
+                .id(ATTEMPT_ID)
+                .user(User.builder().id(7L).build())
+                .quiz(Quiz.builder().id(3L).build())
+                .score(0)
+                .totalQuestions(20)
+                .attemptedQuestions(0)
+                .isCompleted(false)
+                .build();
+
+        attemptRepo = mock(QuizAttemptRepository.class);
+        userAnswerRepo = mock(UserAnswerRepository.class);
+        questionRepo = mock(QuestionRepository.class);
+        optionRepo = mock(QuestionOptionRepository.class);
+        questionStatsService = mock(QuestionStatsService.class);
+
+        when(attemptRepo.findById(ATTEMPT_ID)).thenAnswer(inv -> Optional.of(attemptRow));
+        when(attemptRepo.getReferenceById(ATTEMPT_ID)).thenAnswer(inv -> attemptRow);
+        when(attemptRepo.incrementProgress(eq(ATTEMPT_ID), anyInt(), anyInt())).thenAnswer(this::incrementAttemptRow);
+        when(attemptRepo.recountProgress(ATTEMPT_ID)).thenAnswer(this::recountAttemptRow);
+        when(attemptRepo.existsById(ATTEMPT_ID)).thenReturn(true);
+        when(questionRepo.getReferenceById(anyLong())).thenAnswer(inv -> Question.builder().id(inv.getArgument(0)).build());
+        when(optionRepo.getReferenceById(anyLong())).thenAnswer(inv -> QuestionOption.builder().id(inv.getArgument(0)).build());
+        when(userAnswerRepo.findByQuizAttemptId(ATTEMPT_ID)).thenAnswer(inv -> new ArrayList<>(answerTable.values()));
+        when(userAnswerRepo.findByQuizAttemptIdAndQuestionIdIn(eq(ATTEMPT_ID), anyCollection())).thenAnswer(inv -> {
+            Collection<Long> questionIds = inv.getArgument(1);
+            return questionIds.stream().map(answerTable::get).filter(Objects::nonNull).map(AttemptSessionStoreTest::copy).toList();
+        });
+        when(userAnswerRepo.saveAll(anyIterable())).thenAnswer(this::saveRows);
+        when(userAnswerRepo.saveAllAndFlush(anyIterable())).thenAnswer(this::saveRows);
+    }
+
+    private Iterable<UserAnswer> saveRows(InvocationOnMock invocation) {
+        Iterable<UserAnswer> rows = invocation.getArgument(0);
+        rows.forEach(row -> answerTable.put(row.getQuestion().getId(), copy(row)));
+        return rows;
+    }
+
+    private static UserAnswer copy(UserAnswer row) {
+        return UserAnswer.builder().id(row.getId()).quizAttempt(row.getQuizAttempt()).question(row.getQuestion())
+                .selectedOption(row.getSelectedOption()).isCorrect(row.getIsCorrect()).answeredAt(row.getAnsweredAt()).build();
+    }
+
+    private synchronized int incrementAttemptRow(InvocationOnMock invocation) {
+        attemptRow.setScore(attemptRow.getScore() + (int) invocation.getArgument(1));
+        attemptRow.setAttemptedQuestions(attemptRow.getAttemptedQuestions() + (int) invocation.getArgument(2));
+        return 1;
+    }
+
+    private synchronized int recountAttemptRow(InvocationOnMock invocation) {
+        attemptRow.setScore((int) answerTable.values().stream().filter(UserAnswer::getIsCorrect).count());
+        attemptRow.setAttemptedQuestions(answerTable.size());
+        return 1;
+    }
+
+    private AttemptSessionStore newStore(AttemptSessionStore.FlushMode mode) {
+        return newStore(mode, mock(AnswerJournal.class));
+    }
+
+    private AttemptSessionStore newStore(AttemptSessionStore.FlushMode mode, AnswerJournal journal) {
+        return new AttemptSessionStore(attemptRepo, userAnswerRepo, questionRepo, optionRepo, journal, questionStatsService,
+                mock(PlatformTransactionManager.class), mode, 60_000);
+    }
+
+    @Test
+    void intervalModeKeepsAnswersInMemoryUntilFlushed() {
+        AttemptSessionStore store = newStore(AttemptSessionStore.FlushMode.INTERVAL);
+        AttemptSession session = store.getSession(ATTEMPT_ID).orElseThrow();
+
+        store.recordAnswer(session, 10L, 100L, true);
+        store.recordAnswer(session, 11L, 110L, false);
+
+        assertTrue(answerTable.isEmpty());
+        assertEquals(1, session.getScore());
+
+        store.flushAll();
+
+        assertEquals(2, answerTable.size());
+        assertEquals(1, attemptRow.getScore());
+        assertEquals(2, attemptRow.getAttemptedQuestions());
+    }
+
+    @Test
+    void immediateModeWritesEveryAnswer() {
+        AttemptSessionStore store = newStore(AttemptSessionStore.FlushMode.IMMEDIATE);
+        AttemptSession session = store.getSession(ATTEMPT_ID).orElseThrow();
+
+        store.recordAnswer(session, 10L, 100L, true);
+
+        assertEquals(1, answerTable.size());
+        assertEquals(1, attemptRow.getScore());
+    }
+
+    @Test
+    void noAnswersAreLostAcrossGracefulRestart() {
+        AttemptSessionStore store = newStore(AttemptSessionStore.FlushMode.INTERVAL);
+        AttemptSession session = store.getSession(ATTEMPT_ID).orElseThrow();
+        for (long questionId = 1; questionId <= 20; questionId++) {
+            store.recordAnswer(session, questionId, questionId * 10, questionId % 2 == 0);
+        }
+        store.recordAnswer(session, 1L, 15L, true);
+
+        store.shutdown();
+
+        AttemptSessionStore restarted = newStore(AttemptSessionStore.FlushMode.INTERVAL);
+        AttemptSession reloaded = restarted.getSession(ATTEMPT_ID).orElseThrow();
+
+        assertEquals(20, answerTable.size());
+        assertEquals(11, reloaded.getScore());
+        assertEquals(20, reloaded.getAttemptedQuestions());
+        assertEquals(15L, reloaded.getAnswer(1L).optionId());
+        for (long questionId = 2; questionId <= 20; questionId++) {
+            assertEquals(questionId * 10, reloaded.getAnswer(questionId).optionId());
+        }
+    }
+
+    @Test
+    void unflushedAnswersAreRecoveredFromJournalAfterCrash(@TempDir Path directory) throws IOException {
+        AnswerJournal journal = new AnswerJournal(directory, 4096, 8);
+        AttemptSessionStore store = newStore(AttemptSessionStore.FlushMode.INTERVAL, journal);
+        AttemptSession session = store.getSession(ATTEMPT_ID).orElseThrow();
+        for (long questionId = 1; questionId <= 4; questionId++) {
+            journal.append(ATTEMPT_ID, questionId, questionId * 10, true);
+            store.recordAnswer(session, questionId, questionId * 10, true);
+        }
+        store.flushAll();
+        journal.append(ATTEMPT_ID, 5L, 50L, true);
+        store.recordAnswer(session, 5L, 50L, true);
+        journal.append(ATTEMPT_ID, 1L, 11L, false);
+        store.recordAnswer(session, 1L, 11L, false);
+        journal.close();
+
+        AnswerJournal reopened = new AnswerJournal(directory, 4096, 8);
+        AttemptSessionStore restarted = newStore(AttemptSessionStore.FlushMode.INTERVAL, reopened);
+        restarted.recoverFromJournal();
+        reopened.close();
+
+        assertEquals(5, answerTable.size());
+        assertEquals(4, attemptRow.getScore());
+        assertEquals(5, attemptRow.getAttemptedQuestions());
+        assertEquals(11L, answerTable.get(1L).getSelectedOption().getId());
+    }
+
+    @Test
+    void journalAnswerFromTheSameMillisecondAsTheStoredOneIsRecovered() {
+        LocalDateTime storedAt = LocalDateTime.of(2026, 1, 1, 12, 0, 0, 123_456_000);
+        LocalDateTime journaledAt = storedAt.truncatedTo(ChronoUnit.MILLIS);
+        AttemptSession session = new AttemptSession(ATTEMPT_ID, 1L, 1L, Long.MAX_VALUE, 1, 1, false);
+        session.restoreAnswer(new AttemptSession.AnswerState(1L, 10L, true, storedAt));
+
+        assertFalse(session.recoverAnswer(1L, 10L, true, journaledAt));
+        assertFalse(session.recoverAnswer(1L, 11L, false, journaledAt.minusNanos(1_000_000)));
+        assertTrue(session.recoverAnswer(1L, 11L, false, journaledAt));
+        assertEquals(11L, session.getAnswer(1L).optionId());
+        assertEquals(0, session.getScore());
+    }
+
+    @Test
+    void legacyDuplicateAnswerRowsDoNotBreakTheFlush() {
+        UserAnswer older = UserAnswer.builder().id(1L).question(Question.builder().id(10L).build()).build();
+        UserAnswer newer = UserAnswer.builder().id(2L).question(Question.builder().id(10L).build()).build();
+        when(userAnswerRepo.findByQuizAttemptIdAndQuestionIdIn(eq(ATTEMPT_ID), anyCollection())).thenReturn(List.of(older, newer));
+        AttemptSessionStore store = newStore(AttemptSessionStore.FlushMode.INTERVAL);
+        AttemptSession session = store.getSession(ATTEMPT_ID).orElseThrow();
+        store.recordAnswer(session, 10L, 100L, true);
+
+        store.flushAll();
+
+        assertEquals(newer, answerTable.get(10L));
+        assertEquals(100L, newer.getSelectedOption().getId());
+        assertNull(older.getSelectedOption());
+        assertEquals(1, attemptRow.getScore());
+    }
+
+    @Test
+    void failedFlushIsRetried() {
+        AttemptSessionStore store = newStore(AttemptSessionStore.FlushMode.INTERVAL);
+        AttemptSession session = store.getSession(ATTEMPT_ID).orElseThrow();
+        store.recordAnswer(session, 10L, 100L, true);
+
+        when(attemptRepo.incrementProgress(eq(ATTEMPT_ID), anyInt(), anyInt()))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenAnswer(this::incrementAttemptRow);
+
+        store.flushAll();
+        assertEquals(0, attemptRow.getScore());
+
+        store.flushAll();
+        assertEquals(1, attemptRow.getScore());
+        assertEquals(1, answerTable.size());
+    }
+
+    @Test
+    void deletedQuizSessionsAreDiscardedAndDeletedAttemptsAreNotRetried() {
+        AttemptSessionStore store = newStore(AttemptSessionStore.FlushMode.INTERVAL);
+        AttemptSession session = store.getSession(ATTEMPT_ID).orElseThrow();
+        store.recordAnswer(session, 10L, 100L, true);
+
+        assertEquals(0, store.discardQuizzes(Set.of(99L)));
+        assertEquals(1, store.discardQuizzes(Set.of(3L)));
+        assertNotSame(session, store.getSession(ATTEMPT_ID).orElseThrow());
+
+        AttemptSession reloaded = store.getSession(ATTEMPT_ID).orElseThrow();
+        store.recordAnswer(reloaded, 11L, 110L, true);
+        when(attemptRepo.incrementProgress(eq(ATTEMPT_ID), anyInt(), anyInt()))
+                .thenThrow(new DataIntegrityViolationException("fk_user_answers_attempt"));
+        when(attemptRepo.existsById(ATTEMPT_ID)).thenReturn(false);
+
+        store.flushAll();
+        store.flushAll();
+
+        verify(attemptRepo, times(1)).incrementProgress(eq(ATTEMPT_ID), anyInt(), anyInt());
+        assertNotSame(reloaded, store.getSession(ATTEMPT_ID).orElseThrow());
+    }
+
+    @Test
+    void answersForDeletedOptionsAreDiscardedWhileTheRestArePersisted() {
+        Set<Long> deletedOptions = Set.of(110L, 130L);
+        when(questionRepo.findExistingIds(anyCollection())).thenAnswer(inv -> new ArrayList<Long>(inv.getArgument(0)));
+        when(optionRepo.findExistingIds(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> optionIds = inv.getArgument(0);
+            return optionIds.stream().filter(id -> !deletedOptions.contains(id)).toList();
+        });
+        AttemptSessionStore store = newStore(AttemptSessionStore.FlushMode.INTERVAL);
+        AttemptSession session = store.getSession(ATTEMPT_ID).orElseThrow();
+        store.recordAnswer(session, 13L, 131L, true);
+        store.flushAll();
+
+        store.recordAnswer(session, 10L, 100L, true);
+        store.recordAnswer(session, 11L, 110L, true);
+        store.recordAnswer(session, 12L, 120L, false);
+        store.recordAnswer(session, 13L, 130L, false);
+        when(userAnswerRepo.saveAll(anyIterable())).thenThrow(new DataIntegrityViolationException("fk_user_answers_selected_option"));
+        when(userAnswerRepo.saveAllAndFlush(anyIterable())).thenAnswer(inv -> {
+            Iterable<UserAnswer> rows = inv.getArgument(0);
+            rows.forEach(row -> assertFalse(deletedOptions.contains(row.getSelectedOption().getId())));
+            return saveRows(inv);
+        });
+
+        store.flushAll();
+
+        assertSame(session, store.getSession(ATTEMPT_ID).orElseThrow());
+        assertFalse(session.isDirty());
+        assertEquals(Set.of(10L, 12L, 13L), answerTable.keySet());
+        assertEquals(131L, answerTable.get(13L).getSelectedOption().getId());
+        assertNull(session.getAnswer(11L));
+        assertEquals(131L, session.getAnswer(13L).optionId());
+        assertEquals(2, session.getScore());
+        assertEquals(3, session.getAttemptedQuestions());
+        assertEquals(2, attemptRow.getScore());
+        assertEquals(3, attemptRow.getAttemptedQuestions());
+        verify(questionStatsService).revertAnswer(eq(11L), argThat(state -> state.optionId() == 110L), isNull());
+        verify(questionStatsService).revertAnswer(eq(13L), argThat(state -> state.optionId() == 130L), argThat(state -> state.optionId() == 131L));
+    }
+
+    @Test
+    void deletedQuestionIsPurgedFromLiveSessionsBeforeItIsFlushed() {
+        AttemptSessionStore store = newStore(AttemptSessionStore.FlushMode.INTERVAL);
+        AttemptSession session = store.getSession(ATTEMPT_ID).orElseThrow();
+        store.recordAnswer(session, 10L, 100L, true);
+        store.recordAnswer(session, 11L, 110L, true);
+
+        assertEquals(0, store.discardQuestion(99L, 11L));
+        assertEquals(1, store.discardQuestion(3L, 11L));
+        store.flushAll();
+
+        assertEquals(Set.of(10L), answerTable.keySet());
+        assertEquals(1, session.getScore());
+        assertEquals(1, attemptRow.getScore());
+        assertEquals(1, attemptRow.getAttemptedQuestions());
+        verify(questionStatsService).revertAnswer(eq(11L), any(), isNull());
+    }
+
+    @Test
+    void idleSessionIsFlushedBeforeItLeavesTheStore() {
+        AttemptSessionStore store = new AttemptSessionStore(attemptRepo, userAnswerRepo, questionRepo, optionRepo, mock(AnswerJournal.class), mock(QuestionStatsService.class),
+                mock(PlatformTransactionManager.class), AttemptSessionStore.FlushMode.INTERVAL, -1);
+        AttemptSession session = store.getSession(ATTEMPT_ID).orElseThrow();
+        store.recordAnswer(session, 10L, 100L, true);
+        List<AttemptSession> seenDuringFlush = new ArrayList<>();
+        when(attemptRepo.incrementProgress(eq(ATTEMPT_ID), anyInt(), anyInt())).thenAnswer(invocation -> {
+            seenDuringFlush.add(store.getSession(ATTEMPT_ID).orElseThrow());
+            return incrementAttemptRow(invocation);
+        });
+
+        store.flushAll();
+
+        assertEquals(List.of(session), seenDuringFlush);
+        AttemptSession reloaded = store.getSession(ATTEMPT_ID).orElseThrow();
+        assertNotSame(session, reloaded);
+        assertEquals(1, reloaded.getAttemptedQuestions());
+        assertEquals(1, attemptRow.getAttemptedQuestions());
+    }
+
+    @Test
+    void concurrentSubmissionsNeverLoseScoreUpdates() throws Exception {
+        AttemptSessionStore store = newStore(AttemptSessionStore.FlushMode.INTERVAL);
+        AttemptSession session = store.getSession(ATTEMPT_ID).orElseThrow();
+        int threads = 8;
+        int questions = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean submitting = new AtomicBoolean(true);
+
+        Future<?> flusher = executor.submit(() -> {
+            start.await();
+            while (submitting.get()) {
+                store.flushAll();
+            }
+            return null;
+        });
+        List<Future<?>> submitters = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            submitters.add(executor.submit(() -> {
+                start.await();
+                for (int round = 0; round < 20; round++) {
+                    for (long questionId = 1; questionId <= questions; questionId++) {
+                        store.recordAnswer(session, questionId, questionId * 10 + 1, false);
+                        store.recordAnswer(session, questionId, questionId * 10, true);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> submitter : submitters) {
+            submitter.get();
+        }
+        submitting.set(false);
+        flusher.get();
+        executor.shutdown();
+        store.flushAll();
+
+        assertEquals(questions, session.getScore());
+        assertEquals(questions, session.getAttemptedQuestions());
+        assertEquals(questions, attemptRow.getScore());
+        assertEquals(questions, attemptRow.getAttemptedQuestions());
+        assertEquals(questions, answerTable.size());
+        assertTrue(answerTable.values().stream().allMatch(UserAnswer::getIsCorrect));
+    }
+}
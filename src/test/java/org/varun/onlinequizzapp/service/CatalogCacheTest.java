@@ -0,0 +1,144 @@
+package org.varun.onlinequizzapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogCacheTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private double count(String name, String result) {
+        return registry.get(name).tag("result", result).counter().count();
+    }
+
+    @Test
+    void servesCachedValueUntilTagIsInvalidated() {
+        CatalogCache cache = new CatalogCache(16, 0, registry);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, cache.get("quizzes", List.of(CatalogCache.QUIZZES), loads::incrementAndGet));
+        assertEquals(1, cache.get("quizzes", List.of(CatalogCache.QUIZZES), loads::incrementAndGet));
+        cache.invalidate(CatalogCache.TOPICS);
+        assertEquals(1, cache.get("quizzes", List.of(CatalogCache.QUIZZES), loads::incrementAndGet));
+        cache.invalidate(CatalogCache.QUIZZES);
+        assertEquals(2, cache.get("quizzes", List.of(CatalogCache.QUIZZES), loads::incrementAndGet));
+
+        assertEquals(2, count("catalog.cache.gets", "hit"));
+        assertEquals(2, count("catalog.cache.gets", "miss"));
+    }
+
+    @Test
+    void writesOnOtherNodesAreVisibleAfterTheTtl() throws InterruptedException {
+        CatalogCache cache = new CatalogCache(16, 200, registry);
+        List<String> tags = List.of(CatalogCache.QUIZZES);
+        AtomicInteger loads = new AtomicInteger();
+
+        long windowStart = System.currentTimeMillis() / 200 * 200;
+        Thread.sleep(Math.max(0, windowStart + 20 - System.currentTimeMillis()));
+        String etag = cache.etag(tags);
+        assertEquals(1, cache.get("quizzes", tags, loads::incrementAndGet));
+        assertEquals(1, cache.get("quizzes", tags, loads::incrementAndGet));
+
+        Thread.sleep(250);
+        assertEquals(2, cache.get("quizzes", tags, loads::incrementAndGet));
+        assertNotEquals(etag, cache.etag(tags));
+    }
+
+    @Test
+    void valueLoadedDuringWriteIsNotCached() {
+        CatalogCache cache = new CatalogCache(16, 0, registry);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("topics", List.of(CatalogCache.TOPICS), () -> {
+            cache.invalidate(CatalogCache.TOPICS);
+            return loads.incrementAndGet();
+        });
+
+        assertEquals(2, cache.get("topics", List.of(CatalogCache.TOPICS), loads::incrementAndGet));
+    }
+
+    @Test
+    void valueLoadedBeforeCommitIsDroppedAfterCommit() {
+        CatalogCache cache = new CatalogCache(16, 0, registry);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(CatalogCache.QUESTIONS);
+            assertEquals("before commit", cache.get("questions", List.of(CatalogCache.QUESTIONS), () -> "before commit"));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals("after commit", cache.get("questions", List.of(CatalogCache.QUESTIONS), () -> "after commit"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntries() {
+        CatalogCache cache = new CatalogCache(2, 0, registry);
+        cache.get("a", List.of(CatalogCache.QUIZZES), () -> "a");
+        cache.get("b", List.of(CatalogCache.QUIZZES), () -> "b");
+        cache.get("a", List.of(CatalogCache.QUIZZES), () -> "a");
+        cache.get("c", List.of(CatalogCache.QUIZZES), () -> "c");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, registry.get("catalog.cache.evictions").counter().count());
+        assertEquals("a", cache.get("a", List.of(CatalogCache.QUIZZES), () -> "reloaded"));
+        assertEquals("reloaded", cache.get("b", List.of(CatalogCache.QUIZZES), () -> "reloaded"));
+    }
+
+    @Test
+    void neverServesDataOlderThanTheLastCompletedWrite() throws Exception {
+        CatalogCache cache = new CatalogCache(16, 0, registry);
+        AtomicLong database = new AtomicLong();
+        AtomicLong lastCompletedWrite = new AtomicLong();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Future<?> writer = executor.submit(() -> {
+            start.await();
+            for (long version = 1; version <= 20_000; version++) {
+                database.set(version);
+                cache.invalidate(CatalogCache.QUIZZES);
+                lastCompletedWrite.set(version);
+            }
+            writing.set(false);
+            return null;
+        });
+        List<Future<?>> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(executor.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    long completed = lastCompletedWrite.get();
+                    long served = cache.get("quizzes", List.of(CatalogCache.QUIZZES), database::get);
+                    assertTrue(served >= completed, "served " + served + " after write " + completed);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        writer.get();
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+        executor.shutdown();
+
+        assertEquals(20_000L, (long) cache.get("quizzes", List.of(CatalogCache.QUIZZES), database::get));
+    }
+}
@@ -0,0 +1,194 @@
+package org.varun.onlinequizzapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+import org.varun.onlinequizzapp.controller.OptionController;
+import org.varun.onlinequizzapp.controller.QuestionController;
+import org.varun.onlinequizzapp.controller.QuizController;
+import org.varun.onlinequizzapp.dto.option.AddOptionDto;
+import org.varun.onlinequizzapp.config.QueryStats;
+import org.varun.onlinequizzapp.config.QueryStatsHibernateCustomizer;
+import org.varun.onlinequizzapp.model.Question;
+import org.varun.onlinequizzapp.model.QuestionOption;
+import org.varun.onlinequizzapp.model.Quiz;
+import org.varun.onlinequizzapp.model.Topic;
+import org.varun.onlinequizzapp.model.type.Difficulty;
+import org.varun.onlinequizzapp.repository.QuestionOptionRepository;
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+import org.varun.onlinequizzapp.repository.QuizAttemptRepository;
+import org.varun.onlinequizzapp.repository.QuizRepository;
+import org.varun.onlinequizzapp.repository.TopicRepository;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.varun.onlinequizzapp.support.QueryBudget.mockMvc;
+import static org.varun.onlinequizzapp.support.QueryBudget.rowsAtMost;
+import static org.varun.onlinequizzapp.support.QueryBudget.statementsAtMost;
+
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Import(QueryStatsHibernateCustomizer.class)
+class CatalogQueryBudgetTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private QuizRepository quizRepo;
+    @Autowired
+    private TopicRepository topicRepo;
+    @Autowired
+    private QuestionRepository questionRepo;
+    @Autowired
+    private QuestionOptionRepository optionRepo;
+
+    private QuizService quizService;
+    private QuestionService questionService;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        CatalogCache catalogCache = new CatalogCache(16, 0, new SimpleMeterRegistry());
+        EncodedResponseCache encodedResponses = new EncodedResponseCache(Jackson2ObjectMapperBuilder.json().build(), true, 16, 1 << 20);
+        quizService = new QuizService(quizRepo, topicRepo, new AnswerKeyCache(questionRepo, 0), mock(LeaderboardService.class), catalogCache, encodedResponses, mock(SearchService.class), mock(AttemptExpiryService.class));
+        questionService = new QuestionService(questionRepo, quizRepo, optionRepo, mock(AnswerKeyCache.class), catalogCache, encodedResponses, mock(SearchService.class),
+                mock(QuizAttemptRepository.class), mock(AttemptSessionStore.class));
+        mvc = mockMvc(new QuizController(quizService, mock(LeaderboardService.class)),
+                new QuestionController(questionService, mock(QuestionStatsService.class), mock(QuestionImportService.class)),
+                new OptionController(questionService));
+
+        for (int t = 0; t < 5; t++) {
+            Topic topic = entityManager.persist(Topic.builder().name("Topic " + t).description("Topic " + t).build());
+            for (int q = 0; q < 6; q++) {
+                Quiz quiz = entityManager.persist(Quiz.builder().title("Quiz " + t + "-" + q).description("Quiz")
+                        .topic(topic).timeLimitMinutes(10).difficultyLevel(Difficulty.values()[q % Difficulty.values().length]).build());
+                Question question = entityManager.persist(Question.builder().title("Question " + t + "-" + q).quiz(quiz).build());
+                for (int o = 0; o < 4; o++) {
+                    entityManager.persist(QuestionOption.builder().question(question).optionText("Option " + o).isCorrect(o == 0).build());
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    @Test
+    void executedStatementsAndFetchedRowsAreCounted() {
+        QueryStats.begin();
+        quizRepo.findAllIds();
+        questionRepo.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1));
+        QueryStats.Snapshot stats = QueryStats.end();
+
+        assertEquals(2, stats.statements());
+        assertEquals(31, stats.rows());
+        assertTrue(stats.jdbcNanos() > 0);
+    }
+
+    @Test
+    void unchangedQuizIsAnsweredWithNotModifiedFromOneQuery() throws Exception {
+        Long quizId = quizRepo.findAllIds().getFirst();
+        String etag = quizService.getQuizWithId(quizId, request()).getHeaders().getETag();
+
+        mvc.perform(get("/api/quiz/get/{id}", quizId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andExpect(statementsAtMost(1));
+    }
+
+    @Test
+    void optionChangeInvalidatesQuestionEtag() {
+        Question question = questionRepo.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1)).getFirst();
+        String etag = questionService.getQuestionWithId(question.getId(), request()).getHeaders().getETag();
+        entityManager.clear();
+
+        questionService.addOption(question.getId(), new AddOptionDto("Another option", false));
+        entityManager.flush();
+        entityManager.clear();
+
+        ResponseEntity<?> response = questionService.getQuestionWithId(question.getId(), request(etag));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, response.getHeaders().getETag());
+    }
+
+    @Test
+    void playBundleIsBuiltFromBatchedQueriesWithoutCorrectness() throws Exception {
+        Long quizId = quizRepo.findAllIds().getFirst();
+
+        mvc.perform(get("/api/quiz/play/{id}", quizId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"optionText\":\"Option 3\"")))
+                .andExpect(content().string(not(containsString("isCorrect"))))
+                .andExpect(statementsAtMost(3))
+                .andExpect(rowsAtMost(6));
+        mvc.perform(get("/api/quiz/play/{id}", quizId))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+    }
+
+    @Test
+    void duplicateOptionTextIsScopedToItsQuestion() throws Exception {
+        Question question = questionRepo.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1)).getFirst();
+
+        ResponseStatusException duplicate = assertThrows(ResponseStatusException.class,
+                () -> questionService.addOption(question.getId(), new AddOptionDto("OPTION 2", false)));
+        assertEquals(HttpStatus.CONFLICT, duplicate.getStatusCode());
+
+        mvc.perform(post("/api/option/add/{questionId}", question.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"optionText\":\"Option 4\",\"isCorrect\":false}"))
+                .andExpect(status().isCreated())
+                .andExpect(statementsAtMost(3));
+    }
+
+    @Test
+    void quizPageLoadsTopicsWithoutExtraQueries() throws Exception {
+        mvc.perform(get("/api/quiz/quizzes").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1))
+                .andExpect(rowsAtMost(21));
+    }
+
+    @Test
+    void filteredQuizPageStaysWithinBudget() throws Exception {
+        mvc.perform(get("/api/quiz/quizzes").param("difficulty", Difficulty.values()[0].name()).param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+    }
+
+    @Test
+    void questionPageBatchesOptionLoads() throws Exception {
+        mvc.perform(get("/api/question/questions").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2))
+                .andExpect(rowsAtMost(21 + 20 * 4));
+    }
+}
@@ -0,0 +1,138 @@
+package org.varun.onlinequizzapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.varun.onlinequizzapp.dto.ApiResponse;
+import org.varun.onlinequizzapp.dto.PageResponseDto;
+import org.varun.onlinequizzapp.dto.quiz.QuizResponseDto;
+import org.varun.onlinequizzapp.model.type.Difficulty;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedResponseCacheTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private static ServletWebRequest request(String acceptEncoding, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/quiz/quizzes");
+        if (acceptEncoding != null) request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        if (ifNoneMatch != null) request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static ApiResponse<PageResponseDto<QuizResponseDto>> quizPage() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<QuizResponseDto> quizzes = LongStream.rangeClosed(1, 20)
+                .mapToObj(id -> new QuizResponseDto(id, "Quiz " + id, "A fairly typical quiz description for quiz " + id,
+                        "Topic " + id % 4, 30, Difficulty.MEDIUM, now, now))
+                .toList();
+        return new ApiResponse<>(true, "All quizzes fetched successfully", new PageResponseDto<>(quizzes, 20, "MjA"));
+    }
+
+    @Test
+    void encodesOncePerEtag() throws IOException {
+        EncodedResponseCache cache = new EncodedResponseCache(objectMapper, true, 16, 1 << 20);
+        AtomicInteger builds = new AtomicInteger();
+
+        ResponseEntity<?> first = cache.respond("quizzes", "\"v1\"", request(null, null), () -> {
+            builds.incrementAndGet();
+            return quizPage();
+        });
+        ResponseEntity<?> second = cache.respond("quizzes", "\"v1\"", request(null, null), () -> {
+            builds.incrementAndGet();
+            return quizPage();
+        });
+
+        assertEquals(1, builds.get());
+        assertSame(first.getBody(), second.getBody());
+        assertArrayEquals(objectMapper.writeValueAsBytes(quizPage()), (byte[]) first.getBody());
+
+        cache.respond("quizzes", "\"v2\"", request(null, null), () -> {
+            builds.incrementAndGet();
+            return quizPage();
+        });
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void servesGzipVariantWithItsOwnEtag() throws IOException {
+        EncodedResponseCache cache = new EncodedResponseCache(objectMapper, true, 16, 1 << 20);
+
+        ResponseEntity<?> response = cache.respond("quizzes", "\"v1\"", request("gzip, deflate", null), EncodedResponseCacheTest::quizPage);
+
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"v1-gzip\"", response.getHeaders().getETag());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) response.getBody()))) {
+            assertArrayEquals(objectMapper.writeValueAsBytes(quizPage()), in.readAllBytes());
+        }
+
+        ResponseEntity<?> revalidated = cache.respond("quizzes", "\"v1\"", request("gzip", "\"v1-gzip\""), () -> fail("should not build"));
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+    }
+
+    @Test
+    void authenticatedResponsesStayOutOfSharedCaches() {
+        EncodedResponseCache cache = new EncodedResponseCache(objectMapper, false, 16, 1 << 20);
+
+        ResponseEntity<?> catalog = cache.respond("quizzes", "\"v1\"", request(null, null), EncodedResponseCacheTest::quizPage);
+        ResponseEntity<?> play = cache.respond("play:1", "\"v1\"", HttpCaching.PRIVATE, request(null, null), EncodedResponseCacheTest::quizPage);
+        ResponseEntity<?> revalidated = cache.respond("play:1", "\"v1\"", HttpCaching.PRIVATE, request(null, "\"v1\""), () -> fail("should not build"));
+
+        assertTrue(catalog.getHeaders().getCacheControl().contains("s-maxage=60"));
+        assertEquals("no-cache, private", play.getHeaders().getCacheControl());
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertEquals("no-cache, private", revalidated.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void evictsWhenOverByteBudget() {
+        EncodedResponseCache cache = new EncodedResponseCache(objectMapper, false, 16, 6000);
+        for (int i = 0; i < 5; i++) {
+            cache.respond("quizzes:" + i, "\"v1\"", request(null, null), EncodedResponseCacheTest::quizPage);
+        }
+        assertTrue(cache.size() < 5);
+    }
+
+    @Test
+    @Tag("perf")
+    void serializationCpuSaved() throws IOException {
+        EncodedResponseCache cache = new EncodedResponseCache(objectMapper, true, 16, 1 << 20);
+        int iterations = 50_000;
+        for (int i = 0; i < 5_000; i++) {
+            objectMapper.writeValueAsBytes(quizPage());
+            cache.respond("quizzes", "\"v1\"", request(null, null), EncodedResponseCacheTest::quizPage);
+        }
+
+        long start = System.nanoTime();
+        long bytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            bytes += objectMapper.writeValueAsBytes(quizPage()).length;
+        }
+        long serializeNanos = System.nanoTime() - start;
+
+        ServletWebRequest request = request(null, null);
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            bytes += ((byte[]) cache.respond("quizzes", "\"v1\"", request, EncodedResponseCacheTest::quizPage).getBody()).length;
+        }
+        long cachedNanos = System.nanoTime() - start;
+
+        assertTrue(bytes > 0);
+        assertTrue(cachedNanos < serializeNanos, "cached bytes took " + cachedNanos + " ns, serializing took " + serializeNanos + " ns");
+    }
+}
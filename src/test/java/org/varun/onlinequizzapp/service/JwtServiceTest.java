@@ -0,0 +1,150 @@
+package org.varun.onlinequizzapp.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+    private static final String FIRST_SECRET = Encoders.BASE64.encode("first-node-secret-0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+    private static final String SECOND_SECRET = Encoders.BASE64.encode("second-node-secret-0123456789abcde".getBytes(StandardCharsets.UTF_8));
+
+    private JwtService jwtService(long expirationMs, int cacheSize) {
+        return jwtService(new JwtKeyRing("", "", "", true), expirationMs, cacheSize);
+    }
+
+    private JwtService jwtService(JwtKeyRing keyRing, long expirationMs, int cacheSize) {
+        JwtService service = new JwtService(keyRing);
+        ReflectionTestUtils.setField(service, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(service, "verifiedCacheSize", cacheSize);
+        return service;
+    }
+
+    @Test
+    void verifiesSignatureAndExpiryOnce() throws InterruptedException {
+        JwtService service = jwtService(2000, 16);
+        String token = service.generateJwtToken("alice@example.com");
+
+        VerifiedToken verified = service.verify(token);
+        assertEquals("alice@example.com", verified.subject());
+        assertEquals(verified.subject(), verified.claims().get(Claims.SUBJECT));
+        assertSame(verified, service.verify(token));
+        assertThrows(UnsupportedOperationException.class, () -> verified.claims().put("role", "ADMIN"));
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertThrows(SignatureException.class, () -> service.verify(tampered));
+        assertThrows(SignatureException.class, () -> jwtService(2000, 16).verify(token));
+
+        Thread.sleep(Math.max(0, verified.expiresAt().toEpochMilli() - System.currentTimeMillis()) + 50);
+        assertThrows(ExpiredJwtException.class, () -> service.verify(token));
+        JwtService expired = jwtService(-1000, 16);
+        assertThrows(ExpiredJwtException.class, () -> expired.verify(expired.generateJwtToken("bob@example.com")));
+    }
+
+    @Test
+    void acceptsTokensFromEveryKeyInTheRingDuringRotation(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("2026-01.key"), FIRST_SECRET + "\n");
+        JwtService oldNode = jwtService(new JwtKeyRing("", "", directory.toString(), false), 60_000, 16);
+        JwtService rotatedNode = jwtService(new JwtKeyRing("2026-02", "2026-02:" + SECOND_SECRET, directory.toString(), false), 60_000, 16);
+        JwtService retiredNode = jwtService(new JwtKeyRing("2026-02", "2026-02:" + SECOND_SECRET, "", false), 60_000, 16);
+
+        String oldToken = oldNode.generateJwtToken("alice@example.com");
+        String newToken = rotatedNode.generateJwtToken("bob@example.com");
+
+        assertEquals("alice@example.com", rotatedNode.verify(oldToken).subject());
+        assertEquals("bob@example.com", retiredNode.verify(newToken).subject());
+        assertThrows(SignatureException.class, () -> retiredNode.verify(oldToken));
+        assertThrows(SignatureException.class, () -> oldNode.verify(newToken));
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing("2026-03", "2026-02:" + SECOND_SECRET, "", false));
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing("", "", "", false));
+    }
+
+    @Test
+    void cacheIsBoundedAndKeyedByTokenDigest() {
+        JwtService service = jwtService(60_000, 4);
+        List<String> tokens = IntStream.range(0, 16).mapToObj(i -> service.generateJwtToken("user" + i + "@example.com")).toList();
+
+        VerifiedToken last = null;
+        for (String token : tokens) {
+            last = service.verify(token);
+        }
+
+        Map<?, ?> verified = (Map<?, ?>) ReflectionTestUtils.getField(service, "verified");
+        assertTrue(verified.size() <= 4, "cache holds " + verified.size() + " tokens");
+        assertTrue(verified.keySet().stream().noneMatch(tokens::contains));
+        assertSame(last, service.verify(tokens.getLast()));
+    }
+
+    @Test
+    void cacheCanBeDisabled() {
+        JwtService uncached = jwtService(60_000, 0);
+        String token = uncached.generateJwtToken("alice@example.com");
+
+        VerifiedToken first = uncached.verify(token);
+        VerifiedToken second = uncached.verify(token);
+        assertNotSame(first, second);
+        assertEquals(first.subject(), second.subject());
+        assertEquals(first.expiresAt(), second.expiresAt());
+    }
+
+    @Test
+    @Tag("perf")
+    void singleParseIsCheaperThanRepeatedParserConstruction() {
+        JwtKeyRing keyRing = new JwtKeyRing("", "", "", true);
+        JwtService uncached = jwtService(keyRing, 3_600_000, 0);
+        JwtService cached = jwtService(keyRing, 3_600_000, 1024);
+        String secret = Encoders.BASE64.encode(keyRing.activeKey().getEncoded());
+        List<String> tokens = IntStream.range(0, 256).mapToObj(i -> uncached.generateJwtToken("user" + i + "@example.com")).toList();
+
+        ToLongFunction<String> previous = token -> {
+            long sum = 0;
+            for (int i = 0; i < 3; i++) {
+                Claims claims = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret))).build()
+                        .parseClaimsJws(token).getBody();
+                sum += claims.getSubject().length() + claims.getExpiration().getTime();
+            }
+            return sum;
+        };
+        ToLongFunction<String> singleParse = token -> uncached.verify(token).subject().length();
+        ToLongFunction<String> cachedParse = token -> cached.verify(token).subject().length();
+
+        long previousNanos = 0, singleNanos = 0, cachedNanos = 0;
+        for (int round = 0; round < 2; round++) {
+            previousNanos = measure(previous, tokens, 1_000);
+            singleNanos = measure(singleParse, tokens, 20_000);
+            cachedNanos = measure(cachedParse, tokens, 20_000);
+        }
+
+        assertTrue(singleNanos * 2 < previousNanos, "single parse should be at least twice as fast");
+        assertTrue(cachedNanos * 2 < singleNanos, "cache hit should skip verification");
+    }
+
+    private static long measure(ToLongFunction<String> verify, List<String> tokens, int iterations) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += verify.applyAsLong(tokens.get(i & 255));
+        }
+        long nanos = (System.nanoTime() - start) / iterations;
+        assertTrue(sink > 0);
+        return nanos;
+    }
+}
@@ -0,0 +1,83 @@
+package org.varun.onlinequizzapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.varun.onlinequizzapp.config.QueryStats;
+import org.varun.onlinequizzapp.config.QueryStatsHibernateCustomizer;
+import org.varun.onlinequizzapp.dto.ApiResponse;
+import org.varun.onlinequizzapp.dto.quiz.LeaderboardEntryDto;
+import org.varun.onlinequizzapp.model.Quiz;
+import org.varun.onlinequizzapp.model.QuizAttempt;
+import org.varun.onlinequizzapp.model.Topic;
+import org.varun.onlinequizzapp.model.User;
+import org.varun.onlinequizzapp.model.type.Difficulty;
+import org.varun.onlinequizzapp.model.type.Role;
+import org.varun.onlinequizzapp.repository.QuizAttemptRepository;
+import org.varun.onlinequizzapp.repository.QuizRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Import(QueryStatsHibernateCustomizer.class)
+class LeaderboardServiceTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private QuizRepository quizRepo;
+    @Autowired
+    private QuizAttemptRepository attemptRepo;
+
+    private Quiz quiz(Topic topic, String title) {
+        return entityManager.persist(Quiz.builder().title(title).description(title).topic(topic)
+                .timeLimitMinutes(10).difficultyLevel(Difficulty.values()[0]).build());
+    }
+
+    private QuizAttempt attempt(User user, Quiz quiz, int score, LocalDateTime completedAt) {
+        return entityManager.persist(QuizAttempt.builder().user(user).quiz(quiz).score(score).totalQuestions(10).attemptedQuestions(10)
+                .startedAt(LocalDateTime.now().minusHours(1)).completedAt(completedAt).isCompleted(completedAt != null).build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> attemptIds(LeaderboardService service, Long quizId) {
+        ApiResponse<?> response = (ApiResponse<?>) service.getLeaderboard(quizId, 10).getBody();
+        return ((List<LeaderboardEntryDto>) response.getData()).stream().map(LeaderboardEntryDto::attemptId).toList();
+    }
+
+    @Test
+    void rebuildLoadsTheTopOfEveryBoardInOneQuery() {
+        Topic topic = entityManager.persist(Topic.builder().name("Boards").description("Boards").build());
+        User user = entityManager.persist(User.builder().username("ranked").email("ranked@example.com").password("secret")
+                .isEnabled(true).role(Role.USER).build());
+        Quiz first = quiz(topic, "First");
+        Quiz second = quiz(topic, "Second");
+        Quiz empty = quiz(topic, "Empty");
+        LocalDateTime finished = LocalDateTime.now().minusMinutes(30);
+        QuizAttempt low = attempt(user, first, 2, finished);
+        QuizAttempt best = attempt(user, first, 9, finished);
+        QuizAttempt unfinished = attempt(user, first, 7, null);
+        QuizAttempt early = attempt(user, first, 7, finished.minusMinutes(5));
+        QuizAttempt only = attempt(user, second, 1, finished);
+        entityManager.flush();
+        entityManager.clear();
+
+        LeaderboardService service = new LeaderboardService(quizRepo, attemptRepo);
+        ReflectionTestUtils.setField(service, "maxEntriesPerQuiz", 3);
+        QueryStats.begin();
+        service.rebuild();
+        QueryStats.Snapshot stats = QueryStats.end();
+
+        assertEquals(1, stats.statements());
+        assertEquals(4, stats.rows());
+        assertEquals(List.of(best.getId(), early.getId(), unfinished.getId()), attemptIds(service, first.getId()));
+        assertFalse(attemptIds(service, first.getId()).contains(low.getId()));
+        assertEquals(List.of(only.getId()), attemptIds(service, second.getId()));
+        assertEquals(List.of(), attemptIds(service, empty.getId()));
+    }
+}
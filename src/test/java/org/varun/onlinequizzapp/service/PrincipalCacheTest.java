@@ -0,0 +1,69 @@
+package org.varun.onlinequizzapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.varun.onlinequizzapp.model.User;
+import org.varun.onlinequizzapp.model.type.Role;
+import org.varun.onlinequizzapp.repository.UserRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheTest {
+    private final UserRepository userRepo = mock(UserRepository.class);
+
+    private User user(long id, String username, Role role, boolean enabled) {
+        return User.builder().id(id).username(username).email(username + "@example.com").password("secret")
+                .role(role).isEnabled(enabled).build();
+    }
+
+    @Test
+    void servesCachedPrincipalUntilUserIsInvalidated() {
+        PrincipalCache cache = new PrincipalCache(userRepo, 16, 60_000, new SimpleMeterRegistry());
+        when(userRepo.findByUsernameOrEmail("alice@example.com", "alice@example.com"))
+                .thenReturn(Optional.of(user(1, "alice", Role.USER, true)), Optional.of(user(1, "alice", Role.ADMIN, true)));
+
+        AuthenticatedUser first = cache.get("alice@example.com");
+        assertSame(first, cache.get("alice@example.com"));
+        assertEquals(Role.USER, first.role());
+        assertEquals("USER", first.authorities().getFirst().getAuthority());
+        verify(userRepo, times(1)).findByUsernameOrEmail(anyString(), anyString());
+
+        cache.invalidate(2L);
+        assertSame(first, cache.get("alice@example.com"));
+        cache.invalidate(1L);
+        assertEquals(Role.ADMIN, cache.get("alice@example.com").role());
+        verify(userRepo, times(2)).findByUsernameOrEmail(anyString(), anyString());
+    }
+
+    @Test
+    void expiresEntriesAndStaysBounded() throws InterruptedException {
+        PrincipalCache cache = new PrincipalCache(userRepo, 2, 50, new SimpleMeterRegistry());
+        when(userRepo.findByUsernameOrEmail(anyString(), anyString()))
+                .thenAnswer(invocation -> Optional.of(user(invocation.<String>getArgument(0).length(), invocation.getArgument(0), Role.USER, true)));
+
+        cache.get("a");
+        cache.get("bb");
+        cache.get("ccc");
+        assertEquals(2, cache.size());
+        cache.get("ccc");
+        verify(userRepo, times(3)).findByUsernameOrEmail(anyString(), anyString());
+
+        Thread.sleep(80);
+        cache.get("ccc");
+        verify(userRepo, times(4)).findByUsernameOrEmail(anyString(), anyString());
+    }
+
+    @Test
+    void unknownSubjectIsNotCached() {
+        PrincipalCache cache = new PrincipalCache(userRepo, 16, 60_000, new SimpleMeterRegistry());
+        when(userRepo.findByUsernameOrEmail(anyString(), anyString())).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("ghost"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,170 @@
+package org.varun.onlinequizzapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.varun.onlinequizzapp.dto.ApiResponse;
+import org.varun.onlinequizzapp.dto.question.ImportReportDto;
+import org.varun.onlinequizzapp.model.Quiz;
+import org.varun.onlinequizzapp.model.Topic;
+import org.varun.onlinequizzapp.model.type.Difficulty;
+import org.varun.onlinequizzapp.repository.QuestionOptionRepository;
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+import org.varun.onlinequizzapp.repository.QuizRepository;
+import org.varun.onlinequizzapp.repository.TopicRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+@DataJpaTest(properties = {"spring.sql.init.mode=never", "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:file:./target/h2/question-import-test", "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QuestionImportServiceTest {
+    @Autowired
+    private QuizRepository quizRepo;
+    @Autowired
+    private TopicRepository topicRepo;
+    @Autowired
+    private QuestionRepository questionRepo;
+    @Autowired
+    private QuestionOptionRepository optionRepo;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private QuestionImportService importService;
+    private Long quizId;
+
+    @BeforeEach
+    void setUp() {
+        importService = new QuestionImportService(quizRepo, questionRepo, mock(AnswerKeyCache.class),
+                new CatalogCache(16, 0, new SimpleMeterRegistry()), mock(SearchService.class, withSettings().stubOnly()),
+                Jackson2ObjectMapperBuilder.json().build(), Validation.buildDefaultValidatorFactory().getValidator(), transactionManager);
+        ReflectionTestUtils.setField(importService, "chunkSize", 500);
+        String name = UUID.randomUUID().toString();
+        Topic topic = topicRepo.save(Topic.builder().name(name).description("Import").build());
+        quizId = quizRepo.save(Quiz.builder().title(name).description("Import").topic(topic)
+                .timeLimitMinutes(10).difficultyLevel(Difficulty.values()[0]).build()).getId();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ImportReportDto report(ResponseEntity<?> response) {
+        return (ImportReportDto) ((ApiResponse<?>) response.getBody()).getData();
+    }
+
+    @Test
+    void importsValidJsonRowsAndReportsRejectedOnes() {
+        String json = """
+                {"questions": [
+                  {"title": "What is 2 + 2?", "options": [{"optionText": "4", "isCorrect": true}, {"optionText": "5", "isCorrect": false}]},
+                  {"title": "No correct option", "options": [{"optionText": "a", "isCorrect": false}, {"optionText": "b", "isCorrect": false}]},
+                  {"title": "WHAT IS 2 + 2?", "options": [{"optionText": "4", "isCorrect": true}, {"optionText": "3", "isCorrect": false}]},
+                  {"title": "Only one option", "options": [{"optionText": "a", "isCorrect": true}]},
+                  {"title": 42, "options": "none"}
+                ]}
+                """;
+
+        ResponseEntity<?> response = importService.importQuestions(quizId, MediaType.APPLICATION_JSON, stream(json));
+
+        ImportReportDto report = report(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(5, report.processed());
+        assertEquals(1, report.imported());
+        assertEquals(4, report.rejected());
+        assertEquals(2L, report.errors().getFirst().row());
+        Long questionId = questionRepo.findIdByQuizIdAndTitle(quizId, "what is 2 + 2?").orElseThrow();
+        assertEquals(2, optionRepo.findByQuestionIdOrderById(questionId).size());
+    }
+
+    @Test
+    void importsCsvWithOneRowPerQuestion() {
+        String csv = """
+                title,correct,option1,option2,option3
+                "Largest planet, by mass?",2,Mars,Jupiter,Venus
+                Smallest prime,1,2,3
+                Broken row,x,a,b
+                """;
+
+        ImportReportDto report = report(importService.importQuestions(quizId, MediaType.valueOf("text/csv"), stream(csv)));
+
+        assertEquals(3, report.processed());
+        assertEquals(2, report.imported());
+        assertTrue(questionRepo.findIdByQuizIdAndTitle(quizId, "largest planet, by mass?").isPresent());
+    }
+
+    @Test
+    void stopsAtMalformedInputAndKeepsEarlierRows() {
+        String json = "[{\"title\": \"Kept question\", \"options\": [{\"optionText\": \"a\", \"isCorrect\": true}, {\"optionText\": \"b\", \"isCorrect\": false}]}, {\"title\": ";
+
+        ResponseEntity<?> response = importService.importQuestions(quizId, MediaType.APPLICATION_JSON, stream(json));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(1, report(response).imported());
+    }
+
+    @Test
+    @Tag("perf")
+    void streamsOneHundredThousandQuestionsWithBoundedHeap() {
+        int questions = 100_000;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        List<Long> retained = new ArrayList<>();
+        InputStream body = new InputStream() {
+            private int next;
+            private byte[] chunk = "[".getBytes(StandardCharsets.UTF_8);
+            private int position;
+
+            @Override
+            public int read() {
+                if (position == chunk.length) {
+                    if (next > questions) return -1;
+                    chunk = (next == questions ? "]" : (next > 0 ? "," : "") + "{\"title\":\"Generated question " + next
+                            + "\",\"options\":[{\"optionText\":\"A\",\"isCorrect\":true},{\"optionText\":\"B\",\"isCorrect\":false},"
+                            + "{\"optionText\":\"C\",\"isCorrect\":false},{\"optionText\":\"D\",\"isCorrect\":false}]}").getBytes(StandardCharsets.UTF_8);
+                    position = 0;
+                    next++;
+                    if (next % 20_000 == 0) {
+                        System.gc();
+                        retained.add((memory.getHeapMemoryUsage().getUsed() - baseline) >> 20);
+                    }
+                }
+                return chunk[position++];
+            }
+        };
+
+        ImportReportDto report = report(importService.importQuestions(quizId, MediaType.APPLICATION_JSON, body));
+
+        assertEquals(5, retained.size());
+        assertTrue(retained.getLast() - retained.getFirst() < 16, "retained heap grew with imported rows: " + retained);
+        assertEquals(questions, report.imported());
+        assertEquals(0, report.rejected());
+    }
+}
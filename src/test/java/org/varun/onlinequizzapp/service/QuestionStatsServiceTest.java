@@ -0,0 +1,70 @@
+package org.varun.onlinequizzapp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.varun.onlinequizzapp.repository.OptionStatRepository;
+import org.varun.onlinequizzapp.repository.QuestionOptionRepository;
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+import org.varun.onlinequizzapp.repository.QuestionStatRepository;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class QuestionStatsServiceTest {
+    private static final long QUESTION_ID = 10L;
+
+    private QuestionStatRepository questionStatRepo;
+    private OptionStatRepository optionStatRepo;
+    private QuestionStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        questionStatRepo = mock(QuestionStatRepository.class);
+        optionStatRepo = mock(OptionStatRepository.class);
+        statsService = new QuestionStatsService(mock(QuestionRepository.class), mock(QuestionOptionRepository.class),
+                questionStatRepo, optionStatRepo, mock(PlatformTransactionManager.class));
+    }
+
+    private static AttemptSession.AnswerState answered(Long optionId, boolean correct) {
+        return new AttemptSession.AnswerState(QUESTION_ID, optionId, correct, LocalDateTime.now());
+    }
+
+    @Test
+    void reAnswerMovesTheSelectionWithoutCountingTheQuestionTwice() {
+        statsService.recordAnswer(QUESTION_ID, null, 100L, true);
+        statsService.recordAnswer(QUESTION_ID, answered(100L, true), 101L, false);
+
+        statsService.flush();
+
+        verify(questionStatRepo).increment(QUESTION_ID, 1, 0);
+        verify(optionStatRepo).increment(101L, QUESTION_ID, 1);
+        verify(optionStatRepo, never()).increment(eq(100L), anyLong(), anyLong());
+    }
+
+    @Test
+    void reAnswerAfterFlushSubtractsFromTheStoredCounts() {
+        statsService.recordAnswer(QUESTION_ID, null, 100L, true);
+        statsService.flush();
+        statsService.recordAnswer(QUESTION_ID, answered(100L, true), 101L, false);
+
+        statsService.flush();
+
+        verify(questionStatRepo).increment(QUESTION_ID, 0, -1);
+        verify(optionStatRepo).increment(100L, QUESTION_ID, -1);
+        verify(optionStatRepo, times(2)).increment(anyLong(), eq(QUESTION_ID), eq(1L));
+    }
+
+    @Test
+    void reAnswerOfAnAnswerWhoseOptionWasDeletedOnlyCountsTheNewSelection() {
+        statsService.recordAnswer(QUESTION_ID, answered(null, false), 101L, true);
+
+        statsService.flush();
+
+        verify(questionStatRepo).increment(QUESTION_ID, 0, 1);
+        verify(optionStatRepo).increment(101L, QUESTION_ID, 1);
+        verifyNoMoreInteractions(optionStatRepo);
+    }
+}
@@ -0,0 +1,194 @@
+package org.varun.onlinequizzapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.varun.onlinequizzapp.dto.quiz.UpdateQuizDto;
+import org.varun.onlinequizzapp.model.QuizAttempt;
+import org.varun.onlinequizzapp.model.Quiz;
+import org.varun.onlinequizzapp.model.Topic;
+import org.varun.onlinequizzapp.model.User;
+import org.varun.onlinequizzapp.model.type.Difficulty;
+import org.varun.onlinequizzapp.model.type.Role;
+import org.varun.onlinequizzapp.repository.QuestionOptionRepository;
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+import org.varun.onlinequizzapp.repository.QuizAttemptRepository;
+import org.varun.onlinequizzapp.repository.QuizRepository;
+import org.varun.onlinequizzapp.repository.TopicRepository;
+import org.varun.onlinequizzapp.repository.UserAnswerRepository;
+import org.varun.onlinequizzapp.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {"spring.sql.init.mode=never", "spring.jpa.show-sql=false"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QuizAttemptServiceTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private UserRepository userRepo;
+    @Autowired
+    private TopicRepository topicRepo;
+    @Autowired
+    private QuizRepository quizRepo;
+    @Autowired
+    private QuizAttemptRepository attemptRepo;
+    @Autowired
+    private QuestionRepository questionRepo;
+
+    private QuizAttemptService attemptService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("alter table quiz_attempts add column active_quiz_id bigint generated always as (case when is_completed then null else quiz_id end)");
+        jdbcTemplate.execute("create unique index uq_quiz_attempts_active on quiz_attempts (user_id, active_quiz_id)");
+        jdbcTemplate.execute("set default_lock_timeout 10000");
+        attemptService = new QuizAttemptService(quizRepo, attemptRepo, userRepo, questionRepo, mock(QuestionOptionRepository.class),
+                mock(AttemptSessionStore.class), new AnswerKeyCache(questionRepo, 0), mock(AttemptExpiryService.class),
+                mock(UserAnswerRepository.class), mock(LeaderboardService.class), mock(QuestionStatsService.class), mock(AnswerJournal.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("drop index uq_quiz_attempts_active");
+        jdbcTemplate.execute("alter table quiz_attempts drop column active_quiz_id");
+    }
+
+    @Test
+    void parallelStartsCreateExactlyOneActiveAttempt() throws Exception {
+        String name = UUID.randomUUID().toString();
+        User user = userRepo.save(User.builder().username(name).email(name + "@example.com").password("secret")
+                .isEnabled(true).role(Role.USER).build());
+        Topic topic = topicRepo.save(Topic.builder().name(name).description("Race").build());
+        Quiz quiz = quizRepo.save(Quiz.builder().title(name).description("Race").topic(topic)
+                .timeLimitMinutes(10).difficultyLevel(Difficulty.values()[0]).build());
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<HttpStatus>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+                start.await();
+                try {
+                    ResponseEntity<?> response = transaction.execute(status -> attemptService.addAttempt(quiz.getId()));
+                    return HttpStatus.valueOf(response.getStatusCode().value());
+                } catch (ResponseStatusException e) {
+                    return HttpStatus.valueOf(e.getStatusCode().value());
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+        start.countDown();
+
+        List<HttpStatus> statuses = new ArrayList<>();
+        for (Future<HttpStatus> result : results) {
+            statuses.add(result.get());
+        }
+        executor.shutdown();
+
+        assertEquals(1, statuses.stream().filter(HttpStatus.CREATED::equals).count(), statuses.toString());
+        assertEquals(threads - 1, statuses.stream().filter(HttpStatus.CONFLICT::equals).count(), statuses.toString());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from quiz_attempts where user_id = ? and quiz_id = ? and is_completed = false",
+                Integer.class, user.getId(), quiz.getId()));
+    }
+
+    @Test
+    void finishedAndExpiredAttemptsDoNotBlockARestart() {
+        String name = UUID.randomUUID().toString();
+        User user = userRepo.save(User.builder().username(name).email(name + "@example.com").password("secret")
+                .isEnabled(true).role(Role.USER).build());
+        Topic topic = topicRepo.save(Topic.builder().name(name).description("Restart").build());
+        Quiz quiz = quizRepo.save(Quiz.builder().title(name).description("Restart").topic(topic)
+                .timeLimitMinutes(1).difficultyLevel(Difficulty.values()[0]).build());
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+        try {
+            assertEquals(HttpStatus.CREATED, transaction.execute(status -> attemptService.addAttempt(quiz.getId())).getStatusCode());
+            ResponseStatusException active = assertThrows(ResponseStatusException.class,
+                    () -> transaction.execute(status -> attemptService.addAttempt(quiz.getId())));
+            assertEquals(HttpStatus.CONFLICT, active.getStatusCode());
+
+            jdbcTemplate.update("update quiz_attempts set is_completed = true, completed_at = current_timestamp where user_id = ? and quiz_id = ?",
+                    user.getId(), quiz.getId());
+            assertEquals(HttpStatus.CREATED, transaction.execute(status -> attemptService.addAttempt(quiz.getId())).getStatusCode());
+
+            jdbcTemplate.update("update quiz_attempts set started_at = dateadd('MINUTE', -5, started_at) where user_id = ? and quiz_id = ? and is_completed = false",
+                    user.getId(), quiz.getId());
+            assertEquals(HttpStatus.CREATED, transaction.execute(status -> attemptService.addAttempt(quiz.getId())).getStatusCode());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from quiz_attempts where user_id = ? and quiz_id = ?",
+                Integer.class, user.getId(), quiz.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from quiz_attempts where user_id = ? and quiz_id = ? and is_completed = false",
+                Integer.class, user.getId(), quiz.getId()));
+    }
+
+    @Test
+    void shorterTimeLimitReschedulesActiveAttemptsAndSessionDeadlines() {
+        String name = UUID.randomUUID().toString();
+        User user = userRepo.save(User.builder().username(name).email(name + "@example.com").password("secret")
+                .isEnabled(true).role(Role.USER).build());
+        Topic topic = topicRepo.save(Topic.builder().name(name).description("Limit").build());
+        Quiz quiz = quizRepo.save(Quiz.builder().title(name).description("Limit").topic(topic)
+                .timeLimitMinutes(10).difficultyLevel(Difficulty.values()[0]).build());
+        LocalDateTime startedAt = LocalDateTime.now().minusMinutes(5).truncatedTo(ChronoUnit.SECONDS);
+        QuizAttempt attempt = attemptRepo.save(QuizAttempt.builder().user(user).quiz(quiz).score(0).totalQuestions(0)
+                .attemptedQuestions(0).startedAt(startedAt).isCompleted(false).build());
+
+        AttemptSessionStore sessionStore = mock(AttemptSessionStore.class);
+        AttemptExpiryService expiryService = new AttemptExpiryService(attemptRepo, sessionStore, mock(LeaderboardService.class));
+        ReflectionTestUtils.setField(expiryService, "batchSize", 500);
+        expiryService.schedule(attempt.getId(), quiz.getId(), startedAt, quiz.getTimeLimitMinutes());
+        QuizService quizService = new QuizService(quizRepo, topicRepo, mock(AnswerKeyCache.class), mock(LeaderboardService.class),
+                mock(CatalogCache.class), mock(EncodedResponseCache.class), mock(SearchService.class), expiryService);
+
+        expiryService.expireDueAttempts();
+        assertFalse(attemptRepo.findById(attempt.getId()).orElseThrow().getIsCompleted());
+
+        quizService.updateQuiz(quiz.getId(), new UpdateQuizDto(null, null, null, 1, null));
+
+        long deadline = AttemptExpiryService.deadlineMillis(startedAt, 1);
+        verify(sessionStore).reschedule(eq(quiz.getId()), argThat((Map<Long, Long> deadlines) -> deadlines.equals(Map.of(attempt.getId(), deadline))));
+        expiryService.expireDueAttempts();
+        assertTrue(attemptRepo.findById(attempt.getId()).orElseThrow().getIsCompleted());
+    }
+}
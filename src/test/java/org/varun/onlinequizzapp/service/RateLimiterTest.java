@@ -0,0 +1,142 @@
+package org.varun.onlinequizzapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.varun.onlinequizzapp.exception.GlobalExceptionHandler;
+import org.varun.onlinequizzapp.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsBurstThenRefillsOneTokenPerPeriod() {
+        RateLimiter limiter = new RateLimiter(3, Duration.ofSeconds(10), 100, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("alice"));
+        }
+        assertEquals(Duration.ofSeconds(10).toNanos(), limiter.tryAcquire("alice"));
+        assertEquals(0, limiter.tryAcquire("bob"));
+
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals(Duration.ofSeconds(6).toNanos(), limiter.tryAcquire("alice"));
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+    }
+
+    @Test
+    void evictsIdleKeysAndBoundsTheKeySpace() {
+        RateLimiter limiter = new RateLimiter(2, Duration.ofSeconds(1), 3, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        limiter.tryAcquire("c");
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire("sprayed-" + i));
+        }
+        assertEquals(3, limiter.size());
+        assertTrue(limiter.tryAcquire("a") > 0);
+
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertEquals(3, limiter.evictIdle());
+        assertEquals(0, limiter.size());
+        assertEquals(0, limiter.tryAcquire("d"));
+    }
+
+    @Test
+    void grantsExactlyCapacityUnderContention() throws Exception {
+        RateLimiter limiter = new RateLimiter(1_000, Duration.ofHours(1), 100, System::nanoTime);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int granted = 0;
+                for (int i = 0; i < 10_000; i++) {
+                    if (limiter.tryAcquire("shared") == 0) granted++;
+                }
+                return granted;
+            }));
+        }
+        start.countDown();
+        int granted = 0;
+        for (Future<Integer> result : results) {
+            granted += result.get();
+        }
+        executor.shutdown();
+        assertEquals(1_000, granted);
+    }
+
+    @Test
+    void rejectsWithRetryAfterHeader() {
+        AuthThrottle throttle = new AuthThrottle(30, 2, 2, 30, 3, 300, 1_000, new SimpleMeterRegistry());
+        throttle.checkSignIn("10.0.0.1", "Alice");
+        throttle.checkSignIn("10.0.0.2", " alice ");
+
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class, () -> throttle.checkSignIn("10.0.0.3", "ALICE"));
+        ResponseEntity<?> response = new GlobalExceptionHandler().handleResponseStatusException(rejected);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        long retryAfter = Long.parseLong(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(retryAfter > 0 && retryAfter <= 30);
+    }
+
+    @Test
+    void fullKeySpaceKeepsThrottlingSprayedLoginsAndAdmitsNewClients() {
+        AuthThrottle throttle = new AuthThrottle(30, 2, 5, 30, 3, 300, 2, new SimpleMeterRegistry());
+        for (int i = 0; i < 5; i++) {
+            throttle.checkSignIn("10.0.0.1", "victim");
+        }
+        for (int i = 0; i < 10; i++) {
+            throttle.checkSignIn("10.0.0.2", "sprayed-" + i);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkSignIn("10.0.0.1", "victim"));
+        for (int i = 0; i < 5; i++) {
+            throttle.checkSignIn("10.0.0.3", "sprayed");
+        }
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkSignIn("10.0.0.4", "sprayed"));
+        throttle.checkSignIn("10.0.0.5", "carol");
+    }
+
+    @Test
+    @Tag("perf")
+    void checksCostLessThanAMicrosecond() {
+        RateLimiter limiter = new RateLimiter(1_000_000, Duration.ofMillis(1), 100_000, System::nanoTime);
+        String[] keys = new String[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "10.0." + (i >> 8) + "." + (i & 255);
+        }
+        int checks = 2_000_000;
+        long nanosPerCheck = 0;
+        for (int round = 0; round < 3; round++) {
+            long allowed = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < checks; i++) {
+                if (limiter.tryAcquire(keys[i % keys.length]) == 0) allowed++;
+            }
+            nanosPerCheck = (System.nanoTime() - start) / checks;
+            assertEquals(checks, allowed);
+        }
+
+        assertTrue(nanosPerCheck < 1_000, "check took " + nanosPerCheck + " ns");
+    }
+}
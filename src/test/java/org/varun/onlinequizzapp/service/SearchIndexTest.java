@@ -0,0 +1,171 @@
+package org.varun.onlinequizzapp.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+    private final SearchIndex index = new SearchIndex();
+
+    private List<Long> ids(List<SearchIndex.Hit> hits) {
+        return hits.stream().map(SearchIndex.Hit::id).toList();
+    }
+
+    @Test
+    void ranksExactPrefixAndTypoMatches() {
+        index.put(SearchIndex.DocType.QUESTION, 1L, 10L, "What is the capital of France?");
+        index.put(SearchIndex.DocType.QUESTION, 2L, 10L, "Which river flows through Paris?");
+        index.put(SearchIndex.DocType.QUESTION, 3L, 11L, "Name the largest planet");
+
+        assertEquals(List.of(1L), ids(index.search("capital france", null, 10)));
+        assertEquals(List.of(3L), ids(index.search("plan", null, 10)));
+        assertEquals(List.of(1L), ids(index.search("captial", null, 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("france paris", null, 10)).stream().sorted().toList());
+        assertTrue(index.search("chemistry", null, 10).isEmpty());
+    }
+
+    @Test
+    void filtersByTypeAndBoostsTopicsOverQuestions() {
+        index.put(SearchIndex.DocType.TOPIC, 1L, 0L, "Geography");
+        index.put(SearchIndex.DocType.QUIZ, 5L, 1L, "World capitals", "Geography of capital cities");
+        index.put(SearchIndex.DocType.QUESTION, 9L, 5L, "Geography trivia");
+
+        List<SearchIndex.Hit> hits = index.search("geography", null, 10);
+        assertEquals(SearchIndex.DocType.TOPIC, hits.getFirst().type());
+        assertEquals(List.of(5L), ids(index.search("geography", SearchIndex.DocType.QUIZ, 10)));
+    }
+
+    @Test
+    void updatesReplaceOldTermsAndRemovalsCascade() {
+        index.put(SearchIndex.DocType.TOPIC, 1L, 0L, "History");
+        index.put(SearchIndex.DocType.QUIZ, 2L, 1L, "Roman empire", "Emperors");
+        index.put(SearchIndex.DocType.QUESTION, 3L, 2L, "Who was the first emperor?");
+        index.put(SearchIndex.DocType.QUESTION, 3L, 2L, "Who founded Rome?");
+
+        assertTrue(ids(index.search("first", null, 10)).isEmpty());
+        assertEquals(List.of(3L), ids(index.search("founded", null, 10)));
+
+        index.remove(SearchIndex.DocType.TOPIC, 1L);
+        assertEquals(0, index.size());
+        assertTrue(index.search("rome", null, 10).isEmpty());
+    }
+
+    @Test
+    void cascadeFollowsMovedChildrenAndLeavesSiblingsAlone() {
+        index.put(SearchIndex.DocType.TOPIC, 1L, 0L, "History");
+        index.put(SearchIndex.DocType.TOPIC, 2L, 0L, "Science");
+        index.put(SearchIndex.DocType.QUIZ, 10L, 1L, "Ancient Rome");
+        index.put(SearchIndex.DocType.QUIZ, 11L, 1L, "Physics basics");
+        index.put(SearchIndex.DocType.QUESTION, 100L, 10L, "Who founded Rome?");
+        index.put(SearchIndex.DocType.QUESTION, 101L, 11L, "What is inertia?");
+        index.put(SearchIndex.DocType.QUIZ, 11L, 2L, "Physics basics");
+
+        index.remove(SearchIndex.DocType.TOPIC, 1L);
+
+        assertEquals(3, index.size());
+        assertTrue(index.search("rome", null, 10).isEmpty());
+        assertEquals(List.of(101L), ids(index.search("inertia", null, 10)));
+
+        index.remove(SearchIndex.DocType.QUIZ, 11L);
+        assertEquals(1, index.size());
+        assertEquals(List.of(2L), ids(index.search("science", null, 10)));
+    }
+
+    @Test
+    void keepsResultsCorrectAcrossCompaction() {
+        for (long id = 1; id <= 5000; id++) {
+            index.put(SearchIndex.DocType.QUESTION, id, 1L, "question number q" + id);
+        }
+        for (long id = 1; id <= 4000; id++) {
+            index.remove(SearchIndex.DocType.QUESTION, id);
+        }
+        index.put(SearchIndex.DocType.QUESTION, 4500L, 1L, "renamed question");
+
+        assertEquals(1000, index.size());
+        assertEquals(List.of(4999L), ids(index.search("q4999", null, 1)));
+        assertEquals(List.of(4500L), ids(index.search("renamed", null, 10)));
+        assertEquals(10, index.search("question", null, 10).size());
+    }
+
+    @Test
+    void compactionDropsTheVocabularyOfRemovedDocuments() {
+        index.put(SearchIndex.DocType.QUESTION, 9000L, 1L, "photosynthesis");
+        for (long id = 1; id <= 5000; id++) {
+            index.put(SearchIndex.DocType.QUESTION, id, 1L, "question zq" + id);
+        }
+        int vocabulary = ((List<?>) ReflectionTestUtils.getField(index, "terms")).size();
+        for (long id = 1; id <= 4000; id++) {
+            index.remove(SearchIndex.DocType.QUESTION, id);
+        }
+
+        int slots = (int) ReflectionTestUtils.getField(index, "slotCount");
+        int compacted = ((List<?>) ReflectionTestUtils.getField(index, "terms")).size();
+        assertEquals(5002, vocabulary);
+        assertEquals(1 + slots, compacted);
+        assertTrue(compacted < vocabulary / 2, "vocabulary kept " + compacted + " terms");
+        Map<?, ?> termIds = (Map<?, ?>) ReflectionTestUtils.getField(index, "termIds");
+        assertEquals(compacted, termIds.size());
+        assertFalse(termIds.containsKey("zq1"));
+        assertEquals(List.of(4321L), ids(index.search("zq4321", null, 1)));
+        assertEquals(List.of(9000L), ids(index.search("photosynthsis", null, 10)));
+
+        index.put(SearchIndex.DocType.QUESTION, 6000L, 1L, "brand new vocabulary");
+        assertEquals(List.of(6000L), ids(index.search("vocabulary", null, 10)));
+        assertEquals(List.of(6000L), ids(index.search("vocab", null, 10)));
+    }
+
+    @Test
+    @Tag("perf")
+    void queryLatencyOnOneMillionQuestions() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[20_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 4 + random.nextInt(7);
+            for (int c = 0; c < length; c++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            vocabulary[i] = word.toString();
+        }
+        int questions = 1_000_000;
+        for (long id = 1; id <= questions; id++) {
+            StringBuilder title = new StringBuilder();
+            for (int w = 0; w < 8; w++) {
+                title.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+            }
+            index.put(SearchIndex.DocType.QUESTION, id, id / 20, title.toString());
+        }
+
+        String[] queries = new String[2_000];
+        for (int i = 0; i < queries.length; i++) {
+            String first = vocabulary[random.nextInt(vocabulary.length)];
+            String second = vocabulary[random.nextInt(vocabulary.length)];
+            queries[i] = switch (i % 3) {
+                case 0 -> first + " " + second;
+                case 1 -> first.substring(0, 3);
+                default -> first.substring(1);
+            };
+        }
+        for (int i = 0; i < 5_000; i++) {
+            index.search(queries[i % queries.length], null, 10);
+        }
+        long[] latencies = new long[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            long start = System.nanoTime();
+            index.search(queries[i], null, 10);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        assertEquals(questions, index.size());
+        assertTrue(latencies[latencies.length * 99 / 100] < 50_000_000, "query p99 was " + latencies[latencies.length * 99 / 100] + " ns");
+        assertFalse(index.search(queries[0], null, 10).isEmpty());
+    }
+}
@@ -0,0 +1,59 @@
+package org.varun.onlinequizzapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.varun.onlinequizzapp.model.Topic;
+import org.varun.onlinequizzapp.repository.QuestionRepository;
+import org.varun.onlinequizzapp.repository.QuizRepository;
+import org.varun.onlinequizzapp.repository.TopicRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SearchServiceTest {
+    private final SearchIndex index = new SearchIndex();
+    private final TopicRepository topicRepo = mock(TopicRepository.class);
+    private final SearchService searchService = new SearchService(index, topicRepo, mock(QuizRepository.class), mock(QuestionRepository.class));
+
+    private static TopicRepository.SearchRow topicRow(long id, String title) {
+        return new TopicRepository.SearchRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+        };
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, null, 10).stream().map(SearchIndex.Hit::id).toList();
+    }
+
+    @Test
+    void rebuildKeepsServingAndKeepsWritesCommittedWhileItPages() {
+        index.put(SearchIndex.DocType.TOPIC, 1L, 0, "Astronomy");
+        index.put(SearchIndex.DocType.TOPIC, 2L, 0, "Botany");
+        when(topicRepo.findSearchRows(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            assertEquals(List.of(1L), ids("astronomy"));
+            searchService.indexTopic(Topic.builder().id(3L).name("Chemistry").build());
+            searchService.remove(SearchIndex.DocType.TOPIC, 2L);
+            return List.of(topicRow(1L, "Astronomy"), topicRow(2L, "Botany"));
+        });
+
+        searchService.rebuild();
+
+        assertEquals(List.of(1L), ids("astronomy"));
+        assertEquals(List.of(3L), ids("chemistry"));
+        assertTrue(ids("botany").isEmpty());
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,57 @@
+package org.varun.onlinequizzapp.support;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.varun.onlinequizzapp.config.QueryStats;
+import org.varun.onlinequizzapp.config.QueryStatsFilter;
+import org.varun.onlinequizzapp.exception.GlobalExceptionHandler;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class QueryBudget {
+    private QueryBudget() {
+    }
+
+    public static <T> T assertAtMost(int maxStatements, Supplier<T> action) {
+        QueryStats.begin();
+        T result;
+        QueryStats.Snapshot stats;
+        try {
+            result = action.get();
+        } finally {
+            stats = QueryStats.end();
+        }
+        assertTrue(stats.statements() <= maxStatements,
+                "Expected at most " + maxStatements + " SQL statements but " + stats.statements() + " were executed");
+        return result;
+    }
+
+    public static MockMvc mockMvc(Object... controllers) {
+        return MockMvcBuilders.standaloneSetup(controllers)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilters(new QueryStatsFilter(new SimpleMeterRegistry(), true))
+                .build();
+    }
+
+    public static ResultMatcher statementsAtMost(int maxStatements) {
+        return result -> assertWithin(result, "X-Query-Count", "SQL statements", maxStatements);
+    }
+
+    public static ResultMatcher rowsAtMost(int maxRows) {
+        return result -> assertWithin(result, "X-Query-Rows", "rows", maxRows);
+    }
+
+    private static void assertWithin(MvcResult result, String header, String measure, int max) {
+        String value = result.getResponse().getHeader(header);
+        assertNotNull(value, header + " is missing; the handler must run behind QueryStatsFilter with response headers enabled");
+        long actual = Long.parseLong(value);
+        assertTrue(actual <= max, result.getRequest().getMethod() + " " + result.getRequest().getRequestURI() + " (" + result.getHandler()
+                + ") expected at most " + max + " " + measure + " but got " + actual);
+    }
+}